@@ -74,6 +74,16 @@ public class Pseudo3D extends Application {
      */
     private static long lastRender = 0;
 
+    /**
+     * Time in seconds waiting to be ticked in fixed steps
+     */
+    private static float accumulator = 0;
+
+    /**
+     * Fraction of the way between the previous and current tick the latest frame was drawn at
+     */
+    private static float interpolation = 1;
+
     /**
      * Launch the instance of the Application
      *
@@ -115,6 +125,64 @@ public class Pseudo3D extends Application {
             lastRender = System.nanoTime();
         }));
 
+        open(width, height);
+    }
+
+    /**
+     * Launch the instance of the Application with the Scene ticked in fixed steps from the render loop
+     * <br>
+     * Every frame, the time since the previous frame is added to an accumulator, and the Scene ticks once for every
+     * full tick that fits in it. Entities are then drawn between their previous and current positions by how far the
+     * leftover time is into the next tick, so physics can tick at a low rate and still look smooth. If more ticks are
+     * due than allowed in one frame, the rest of the time is dropped so a slow frame cannot make the next one slower
+     *
+     * @param width            Width of window
+     * @param height           Height of window
+     * @param framerate        Framerate for rendering in frames per second
+     * @param tickSpeed        Tick speed for physics in hertz
+     * @param maxTicksPerFrame Most ticks to run in a single frame
+     * @param resizable        Resizable status
+     * @param title            Window title
+     */
+    public static void launchFixedStep(int width, int height, float framerate, float tickSpeed, int maxTicksPerFrame,
+                                       boolean resizable, String title) {
+        if (Float.compare(tickSpeed, 0) == 0 || Float.compare(framerate, 0) == 0)
+            throw new IllegalArgumentException("Cannot set tickSpeed or framerate to 0");
+        if (maxTicksPerFrame < 1)
+            throw new IllegalArgumentException("Cannot set maxTicksPerFrame below 1");
+
+        Pseudo3D.resizable = resizable;
+        Pseudo3D.title = title;
+
+        float step = 1f / tickSpeed;
+        renderLoop.setCycleCount(Animation.INDEFINITE);
+        renderLoop.getKeyFrames().add(new KeyFrame(Duration.millis(1000f / framerate), ae -> {
+            long now = System.nanoTime();
+            renderDeltaTime = lastRender > 0 ? (now - lastRender) / 1000000000.0f : 0;
+            lastRender = now;
+
+            accumulator += renderDeltaTime;
+            for (int i = 0; i < maxTicksPerFrame && Float.compare(accumulator, step) >= 0; i++) {
+                tickDeltaTime = step;
+                activeScene.tick(step);
+                accumulator -= step;
+            }
+            if (Float.compare(accumulator, step) >= 0) accumulator %= step;
+            interpolation = accumulator / step;
+
+            activeScene.render(canvas.getGraphicsContext2D(), renderDeltaTime, interpolation);
+        }));
+
+        open(width, height);
+    }
+
+    /**
+     * Create the main Canvas, set up input, and start the Application
+     *
+     * @param width  Width of window
+     * @param height Height of window
+     */
+    private static void open(int width, int height) {
         canvas = new Canvas(width, height);
 
         Mouse.init(canvas);
@@ -155,6 +223,7 @@ public class Pseudo3D extends Application {
         renderLoop.stop();
         lastTick = 0;
         lastRender = 0;
+        accumulator = 0;
         super.stop();
     }
 
@@ -169,6 +238,7 @@ public class Pseudo3D extends Application {
             renderLoop.pause();
             lastTick = 0;
             lastRender = 0;
+            accumulator = 0;
         } else {
             tickLoop.play();
             renderLoop.play();
@@ -237,4 +307,15 @@ public class Pseudo3D extends Application {
     public static float getRenderDeltaTime() {
         return renderDeltaTime;
     }
+
+    /**
+     * Get the fraction of the way between the previous and current tick the latest frame was drawn at
+     * <br>
+     * This is always 1 unless the Application was launched with fixed steps
+     *
+     * @return Fraction from 0 to 1
+     */
+    public static float getInterpolation() {
+        return interpolation;
+    }
 }
@@ -1,16 +1,38 @@
 package xyz.jeremynoesen.pseudo3d.core;
 
 import javafx.scene.canvas.GraphicsContext;
+import xyz.jeremynoesen.pseudo3d.core.object.BroadPhase;
+import xyz.jeremynoesen.pseudo3d.core.object.Collisions;
+import xyz.jeremynoesen.pseudo3d.core.object.CommandBuffer;
+import xyz.jeremynoesen.pseudo3d.core.object.ContactCache;
 import xyz.jeremynoesen.pseudo3d.core.object.Entity;
+import xyz.jeremynoesen.pseudo3d.core.object.EntityList;
+import xyz.jeremynoesen.pseudo3d.core.object.Islands;
+import xyz.jeremynoesen.pseudo3d.core.object.Motion;
+import xyz.jeremynoesen.pseudo3d.core.object.Physics;
+import xyz.jeremynoesen.pseudo3d.core.object.SceneSerializer;
+import xyz.jeremynoesen.pseudo3d.core.object.SnapshotBuffer;
+import xyz.jeremynoesen.pseudo3d.core.object.SpatialHash;
 import xyz.jeremynoesen.pseudo3d.core.graphics.Sprite;
 import xyz.jeremynoesen.pseudo3d.core.graphics.Camera;
 import xyz.jeremynoesen.pseudo3d.core.graphics.Renderer;
+import xyz.jeremynoesen.pseudo3d.core.util.Axis;
+import xyz.jeremynoesen.pseudo3d.core.util.Box;
 import xyz.jeremynoesen.pseudo3d.core.util.Vector;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Scene to place Entities, a Camera, and Runnables in and modify them
@@ -19,10 +41,55 @@ import java.util.Objects;
  */
 public class Scene {
 
+    /**
+     * Axes in order, kept to avoid copying them on every tick
+     */
+    private static final Axis[] AXES = Axis.values();
+
     /**
      * All Entities in the Scene
      */
-    private final LinkedList<Entity> entities;
+    private final EntityList entities;
+
+    /**
+     * Entities that are not kinematic on any Axis, refilled every tick
+     */
+    private final ArrayList<Entity> staticEntities;
+
+    /**
+     * Entities that are kinematic on at least one Axis, refilled every tick
+     */
+    private final ArrayList<Entity> dynamicEntities;
+
+    /**
+     * BroadPhase used to find collision candidates for the Entities
+     */
+    private BroadPhase broadPhase;
+
+    /**
+     * Whether the BroadPhase has been prepared since the Entities or the BroadPhase last changed
+     */
+    private boolean prepared;
+
+    /**
+     * Motion pass used to update the motion of the Entities
+     */
+    private final Motion motion;
+
+    /**
+     * Collision pass used to update the collisions of the Entities
+     */
+    private final Collisions collisions;
+
+    /**
+     * Islands used to let resting Entities fall asleep
+     */
+    private final Islands islands;
+
+    /**
+     * Contacts between the Entities kept from one tick to the next
+     */
+    private final ContactCache contacts;
 
     /**
      * Camera for the Scene to determine where to render from
@@ -42,12 +109,12 @@ public class Scene {
     private Vector gridScale;
 
     /**
-     * Runnable code fragments to run every time the Scene ticks
+     * Runnable code fragments to run every time the Scene ticks, in the order they were added
      */
     private final HashSet<Runnable> tickRunnables;
 
     /**
-     * Runnable code fragments to run every time the Scene renders
+     * Runnable code fragments to run every time the Scene renders, in the order they were added
      */
     private final HashSet<Runnable> renderRunnables;
 
@@ -61,18 +128,62 @@ public class Scene {
      */
     private float speed;
 
+    /**
+     * Number of substeps the most recent tick was split into
+     */
+    private int substeps;
+
+    /**
+     * Fixed time every tick takes in lockstep mode in seconds, or 0 when not in lockstep mode
+     */
+    private float lockstep;
+
+    /**
+     * Checksum of the state of the Entities after the most recent lockstep tick
+     */
+    private long checksum;
+
+    /**
+     * Number of ticks the Scene has taken
+     */
+    private int tick;
+
+    /**
+     * Snapshots of the most recent ticks, or null if no snapshots are taken
+     */
+    private SnapshotBuffer snapshots;
+
+    /**
+     * Changes to the Scene queued to be applied at the start of the next tick
+     */
+    private final CommandBuffer commands;
+
     /**
      * Create a new default Scene
      */
     public Scene() {
-        entities = new LinkedList<>();
+        entities = new EntityList();
+        staticEntities = new ArrayList<>();
+        dynamicEntities = new ArrayList<>();
+        broadPhase = new SpatialHash();
+        prepared = false;
+        motion = new Motion();
+        collisions = new Collisions();
+        islands = new Islands();
+        contacts = new ContactCache();
         camera = new Camera();
         background = null;
-        tickRunnables = new HashSet<>();
-        renderRunnables = new HashSet<>();
+        tickRunnables = new LinkedHashSet<>();
+        renderRunnables = new LinkedHashSet<>();
         gridScale = new Vector(32, 32, 32);
         renderer = new Renderer(this);
         speed = 1;
+        substeps = 0;
+        lockstep = 0;
+        checksum = 0;
+        tick = 0;
+        snapshots = null;
+        commands = new CommandBuffer(this);
     }
 
     /**
@@ -83,15 +194,33 @@ public class Scene {
      * @param background Background Sprite
      * @param gridScale  Scene grid scale
      */
-    public Scene(LinkedList<Entity> entities, Camera camera, Sprite background, Vector gridScale) {
-        this.entities = entities;
+    public Scene(Collection<Entity> entities, Camera camera, Sprite background, Vector gridScale) {
+        this.entities = new EntityList(entities);
+        staticEntities = new ArrayList<>();
+        dynamicEntities = new ArrayList<>();
+        broadPhase = new SpatialHash();
+        for (Entity entity : this.entities) {
+            broadPhase.add(entity);
+            entity.setScene(this);
+        }
+        prepared = false;
+        motion = new Motion();
+        collisions = new Collisions();
+        islands = new Islands();
+        contacts = new ContactCache();
         this.camera = camera;
         this.background = background;
-        tickRunnables = new HashSet<>();
-        renderRunnables = new HashSet<>();
+        tickRunnables = new LinkedHashSet<>();
+        renderRunnables = new LinkedHashSet<>();
         this.gridScale = gridScale;
         this.renderer = new Renderer(this);
         speed = 1;
+        substeps = 0;
+        lockstep = 0;
+        checksum = 0;
+        tick = 0;
+        snapshots = null;
+        commands = new CommandBuffer(this);
     }
 
     /**
@@ -100,10 +229,29 @@ public class Scene {
      * @param scene Scene to copy
      */
     public Scene(Scene scene) {
-        entities = new LinkedList<>();
+        entities = new EntityList();
+        staticEntities = new ArrayList<>();
+        dynamicEntities = new ArrayList<>();
+        broadPhase = new SpatialHash();
         for (Entity entity : scene.entities) {
-            entities.add(new Entity(entity));
+            Entity copy = new Entity(entity);
+            entities.add(copy);
+            broadPhase.add(copy);
+            copy.setScene(this);
         }
+        prepared = false;
+        motion = new Motion()
+                .setPool(scene.motion.getPool())
+                .setThreshold(scene.motion.getThreshold())
+                .setMaxSubsteps(scene.motion.getMaxSubsteps())
+                .setSubstepFraction(scene.motion.getSubstepFraction());
+        collisions = new Collisions()
+                .setPool(scene.collisions.getPool())
+                .setThreshold(scene.collisions.getThreshold());
+        islands = new Islands()
+                .setThreshold(scene.islands.getThreshold())
+                .setTicks(scene.islands.getTicks());
+        contacts = new ContactCache();
         camera = new Camera(scene.camera);
         background = scene.background;
         tickRunnables = scene.tickRunnables;
@@ -111,20 +259,111 @@ public class Scene {
         gridScale = scene.gridScale;
         renderer = new Renderer(this);
         speed = scene.speed;
+        substeps = 0;
+        lockstep = scene.lockstep;
+        checksum = 0;
+        tick = scene.tick;
+        snapshots = null;
+        commands = new CommandBuffer(this);
     }
 
     /**
      * Tick all entities in the Scene
      * <br>
-     * Ticking will do the following in order: run any Runnables, update motion for all Entities, then update collisions
-     * for all Entities
+     * Ticking will do the following in order: apply any queued commands, run any Runnables, update motion for all
+     * Entities, then update collisions for all Entities
+     * <br>
+     * Only Entities that are not static check for collisions, and the contacts they find are mirrored onto the static
+     * Entities they touch. Contacts are detected for all Entities first, then resolved in order. Afterwards, the contacts
+     * are compared with those of the previous tick to find which began and ended, and islands of touching Entities that
+     * have been at rest for long enough fall asleep when sleeping is enabled
+     * <br>
+     * When the Motion pass allows substeps, the motion and collision updates are repeated with a fraction of the time
+     * each whenever the fastest Entity would otherwise move too far in one tick. Runnables and islands still only update
+     * once per tick, the contacts that began and ended are those of the last substep, and interpolated positions are
+     * drawn from where the Entities were before the first substep
+     * <br>
+     * CollisionListeners of the Entities are told about the contacts that began and ended in every substep once the
+     * tick is done, so they may safely change the Scene
+     * <br>
+     * In lockstep mode, the given time is replaced with the fixed lockstep time, and a checksum of the state of the
+     * Entities is taken after the tick. When snapshots are kept, a snapshot of the Entities is captured after the tick
      *
      * @param deltaTime How long the previous tick took in seconds
      */
     public void tick(float deltaTime) {
-        tickRunnables.forEach(Runnable::run);
-        for (Entity entity : entities) entity.tickMotion(deltaTime * speed);
-        for (Entity entity : entities) entity.tickCollisions();
+        commands.flush();
+        if (!tickRunnables.isEmpty()) tickRunnables.forEach(Runnable::run);
+        if (lockstep > 0) deltaTime = lockstep;
+        float time = deltaTime * speed;
+        substeps = motion.getSubsteps(entities, time);
+        motion.prepareTick(entities);
+        for (int i = 0; i < substeps; i++) {
+            motion.tick(entities, broadPhase, time / substeps);
+            broadPhase.prepare(entities);
+            prepared = true;
+            classify();
+            collisions.tick(dynamicEntities, staticEntities);
+            contacts.update(dynamicEntities);
+        }
+        islands.update(entities);
+        contacts.dispatch();
+        if (lockstep > 0) checksum = computeChecksum();
+        tick++;
+        if (snapshots != null) snapshots.capture(entities, tick);
+    }
+
+    /**
+     * Compute a checksum of the position, velocity, and sleep state of every Entity in the order they are ticked in
+     * <br>
+     * The exact bits of every value are hashed, so two Scenes only share a checksum when their Entities are in exactly
+     * the same state
+     *
+     * @return Checksum of the Entities
+     */
+    private long computeChecksum() {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ entities.size()) * 0x100000001b3L;
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            for (Axis axis : AXES) {
+                hash = (hash ^ Float.floatToIntBits(entity.getPosition(axis))) * 0x100000001b3L;
+                hash = (hash ^ Float.floatToIntBits(entity.getVelocity(axis))) * 0x100000001b3L;
+            }
+            hash = (hash ^ (entity.isSleeping() ? 1 : 0)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Sort the Entities into static and dynamic Entities, keeping the order they are ticked in
+     */
+    private void classify() {
+        staticEntities.clear();
+        dynamicEntities.clear();
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            if (entity.isStatic()) staticEntities.add(entity);
+            else dynamicEntities.add(entity);
+        }
+    }
+
+    /**
+     * Get the Entities found to be static in the most recent tick
+     *
+     * @return List of static Entities
+     */
+    public List<Entity> getStaticEntities() {
+        return Collections.unmodifiableList(staticEntities);
+    }
+
+    /**
+     * Get the Entities found to be dynamic in the most recent tick
+     *
+     * @return List of dynamic Entities
+     */
+    public List<Entity> getDynamicEntities() {
+        return Collections.unmodifiableList(dynamicEntities);
     }
 
     /**
@@ -134,8 +373,23 @@ public class Scene {
      * @param deltaTime       How long the previous render took in seconds
      */
     public void render(GraphicsContext graphicsContext, float deltaTime) {
+        render(graphicsContext, deltaTime, 1);
+    }
+
+    /**
+     * Render this Scene to the main Canvas with Entities drawn part of the way between their previous and current
+     * positions, as well as run any Runnables
+     * <br>
+     * This is used when the Scene ticks at a fixed rate lower than the framerate, with the fraction being how far the
+     * time since the most recent tick is into the next tick
+     *
+     * @param graphicsContext GraphicsContext to render to
+     * @param deltaTime       How long the previous render took in seconds
+     * @param alpha           Fraction of the way from the previous to the current positions, from 0 to 1
+     */
+    public void render(GraphicsContext graphicsContext, float deltaTime, float alpha) {
         renderRunnables.forEach(Runnable::run);
-        renderer.render(graphicsContext, deltaTime * speed);
+        renderer.render(graphicsContext, deltaTime * speed, alpha);
     }
 
     /**
@@ -143,12 +397,33 @@ public class Scene {
      * <br>
      * Modifying this directly will cause problems
      *
-     * @return List of all Entities in this Scene
+     * @return List of all Entities in this Scene, in the order they are ticked in
      */
-    public LinkedList<Entity> getEntities() {
+    public List<Entity> getEntities() {
         return entities;
     }
 
+    /**
+     * Get the CommandBuffer of this Scene, which queues Entities to be added or removed at the start of the next tick
+     * <br>
+     * Use this instead of adding or removing Entities directly while the Scene is ticking, or from other threads
+     *
+     * @return CommandBuffer of this Scene
+     */
+    public CommandBuffer getCommands() {
+        return commands;
+    }
+
+    /**
+     * Get the Entity in this Scene with an id
+     *
+     * @param id Id of the Entity
+     * @return Entity with the id, or null if no Entity in this Scene has it
+     */
+    public Entity getEntity(int id) {
+        return entities.getById(id);
+    }
+
     /**
      * Add Entities to this Scene
      *
@@ -157,8 +432,10 @@ public class Scene {
      */
     public Scene addEntity(Entity... entity) {
         for (Entity e : entity) {
-            entities.add(e);
+            if (!entities.add(e)) continue;
+            broadPhase.add(e);
             e.setScene(this);
+            prepared = false;
         }
         return this;
     }
@@ -172,13 +449,399 @@ public class Scene {
     public Scene removeEntity(Entity... entity) {
         for (Entity e : entity) {
             if (entities.contains(e)) {
+                e.wake();
                 entities.remove(e);
+                broadPhase.remove(e);
                 e.setScene(null);
+                prepared = false;
             }
         }
         return this;
     }
 
+    /**
+     * Get the BroadPhase used to find collision candidates for the Entities
+     *
+     * @return BroadPhase of this Scene
+     */
+    public BroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Set the BroadPhase used to find collision candidates for the Entities
+     * <br>
+     * SpatialHash suits Entities spread out evenly, SweepAndPrune suits Scenes that are long on one Axis, AABBTree
+     * suits Scenes mixing very large and very small Entities, and BruteForce tests every pair of Entities
+     *
+     * @param broadPhase New BroadPhase
+     * @return This Scene
+     */
+    public Scene setBroadPhase(BroadPhase broadPhase) {
+        this.broadPhase.clear();
+        broadPhase.clear();
+        this.broadPhase = broadPhase;
+        for (Entity entity : entities) {
+            broadPhase.add(entity);
+            if (entity.getScene() == this) entity.setScene(this);
+        }
+        prepared = false;
+        return this;
+    }
+
+    /**
+     * Find all Entities overlapping a Box, using the BroadPhase to skip Entities far away from it
+     *
+     * @param box Box to check
+     * @return Entities overlapping the Box, in the order they were ticked in last
+     */
+    public ArrayList<Entity> queryBox(Box box) {
+        refresh();
+        ArrayList<Physics> candidates = new ArrayList<>();
+        broadPhase.search(box, candidates);
+        ArrayList<Entity> found = new ArrayList<>();
+        for (Physics physics : candidates) if (physics.overlaps(box)) found.add((Entity) physics);
+        return found;
+    }
+
+    /**
+     * Find all Entities containing a position, using the BroadPhase to skip Entities far away from it
+     *
+     * @param position Position to check
+     * @return Entities containing the position, in the order they were ticked in last
+     */
+    public ArrayList<Entity> queryPoint(Vector position) {
+        refresh();
+        ArrayList<Physics> candidates = new ArrayList<>();
+        broadPhase.search(new Box(0, 0, 0, new Vector(position)), candidates);
+        ArrayList<Entity> found = new ArrayList<>();
+        for (Physics physics : candidates) if (physics.contains(position)) found.add((Entity) physics);
+        return found;
+    }
+
+    /**
+     * Find the first Entity hit by a ray
+     * <br>
+     * Entities the ray starts inside are ignored, so a ray cast from an Entity does not hit the Entity itself
+     *
+     * @param origin      Position the ray starts at
+     * @param direction   Direction of the ray, which does not need to be normalized but cannot have a length of 0
+     * @param maxDistance Furthest distance along the ray to check in grid units
+     * @return First Entity hit, or null if nothing was hit
+     */
+    public Entity raycast(Vector origin, Vector direction, float maxDistance) {
+        refresh();
+        return (Entity) broadPhase.raycast(origin, direction, maxDistance);
+    }
+
+    /**
+     * Find the Entities nearest to a position, measured to the closest point of each Entity's Box
+     * <br>
+     * The BroadPhase is queried with a Box that doubles in size until it holds enough Entities or covers every Entity,
+     * so Entities far away from the position are never checked when there are enough near it
+     *
+     * @param position Position to measure from
+     * @param k        Number of Entities to find
+     * @return Up to k Entities, nearest first
+     */
+    public ArrayList<Entity> nearest(Vector position, int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Cannot set k below 0");
+        refresh();
+        ArrayList<Physics> candidates = new ArrayList<>();
+        if (k > 0 && !entities.isEmpty()) {
+            Box box = new Box(0, 0, 0, new Vector(position));
+            float extent = -1;
+            for (float radius = 1; ; radius *= 2) {
+                for (Axis axis : Axis.values()) box.setDimensions(axis, radius * 2);
+                broadPhase.search(box, candidates);
+                if (candidates.size() >= entities.size()) break;
+                int within = 0;
+                for (Physics physics : candidates) if (getDistance(physics, position) <= radius) within++;
+                if (within >= k) break;
+                if (extent < 0) extent = getExtent(position);
+                if (radius >= extent) break;
+            }
+            candidates.sort(Comparator.comparingDouble(physics -> getDistance(physics, position)));
+        }
+        ArrayList<Entity> found = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, candidates.size()); i++) found.add((Entity) candidates.get(i));
+        return found;
+    }
+
+    /**
+     * Prepare the BroadPhase for queries if Entities were added or removed or the BroadPhase was replaced since it was
+     * last prepared, so queries between ticks see the current Entities in the order they will be ticked in
+     */
+    private void refresh() {
+        if (prepared) return;
+        broadPhase.prepare(entities);
+        prepared = true;
+    }
+
+    /**
+     * Get how far the Entities reach from a position along any Axis, which is the largest half size a Box around the
+     * position needs to cover every Entity
+     *
+     * @param position Position to measure from
+     * @return Furthest reach of the Entities from the position along any Axis
+     */
+    private float getExtent(Vector position) {
+        float extent = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            for (Axis axis : AXES) {
+                float p = position.get(axis);
+                extent = Math.max(extent, Math.max(p - entity.getMinimum(axis), entity.getMaximum(axis) - p));
+            }
+        }
+        return extent;
+    }
+
+    /**
+     * Get the distance from a position to the closest point of a Box
+     *
+     * @param box      Box to measure to
+     * @param position Position to measure from
+     * @return Distance to the Box, or 0 if the Box contains the position
+     */
+    private static float getDistance(Box box, Vector position) {
+        float distance = 0;
+        for (Axis axis : Axis.values()) {
+            float p = position.get(axis);
+            float d = Math.max(box.getMinimum(axis) - p, Math.max(p - box.getMaximum(axis), 0));
+            distance += d * d;
+        }
+        return (float) Math.sqrt(distance);
+    }
+
+    /**
+     * Get the Motion pass used to update the motion of the Entities
+     *
+     * @return Motion pass of this Scene
+     */
+    public Motion getMotion() {
+        return motion;
+    }
+
+    /**
+     * Get the Collisions pass used to update the collisions of the Entities
+     *
+     * @return Collisions pass of this Scene
+     */
+    public Collisions getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * Set the ForkJoinPool to update the motion and detect the collisions of the Entities on
+     * <br>
+     * Set to null to update serially. Both give exactly the same results
+     *
+     * @param pool ForkJoinPool to use
+     * @return This Scene
+     */
+    public Scene setParallel(ForkJoinPool pool) {
+        motion.setPool(pool);
+        collisions.setPool(pool);
+        return this;
+    }
+
+    /**
+     * Check if the Entities are updated in parallel
+     *
+     * @return True if motion or collisions are updated on a ForkJoinPool
+     */
+    public boolean isParallel() {
+        return motion.getPool() != null || collisions.getPool() != null;
+    }
+
+    /**
+     * Get the Islands used to let resting Entities fall asleep
+     * <br>
+     * Sleeping is off by default. Use these to enable it by setting how long Entities must be at rest before sleeping
+     *
+     * @return Islands of this Scene
+     */
+    public Islands getIslands() {
+        return islands;
+    }
+
+    /**
+     * Get the contacts between the Entities, along with the contacts that began and ended in the most recent tick
+     *
+     * @return ContactCache of this Scene
+     */
+    public ContactCache getContacts() {
+        return contacts;
+    }
+
+    /**
+     * Get the number of substeps the most recent tick was split into
+     * <br>
+     * Ticks are only split when the Motion pass allows more than one substep
+     *
+     * @return Number of substeps
+     */
+    public int getSubsteps() {
+        return substeps;
+    }
+
+    /**
+     * Check if the Scene is in lockstep mode
+     *
+     * @return True if every tick takes the same fixed time
+     */
+    public boolean isLockstep() {
+        return lockstep > 0;
+    }
+
+    /**
+     * Get the fixed time every tick takes in lockstep mode
+     *
+     * @return Lockstep time in seconds, or 0 when not in lockstep mode
+     */
+    public float getLockstep() {
+        return lockstep;
+    }
+
+    /**
+     * Set the fixed time every tick takes, putting the Scene in lockstep mode
+     * <br>
+     * In lockstep mode, ticking a Scene gives bit-for-bit the same results on every run, as long as the same Entities
+     * are added in the same order and the same changes are made between the same ticks. Entities are always ticked in
+     * the order they were added, Sides and Axes in the order of their enums, and contacts in the order they are found,
+     * so only the time elapsed can change between runs. This makes Scenes usable for replays and lockstep multiplayer,
+     * where checksums can be compared to find when two Scenes diverged. Set to 0 to leave lockstep mode
+     *
+     * @param lockstep Fixed time of every tick in seconds
+     * @return This Scene
+     */
+    public Scene setLockstep(float lockstep) {
+        if (Float.compare(lockstep, 0) < 0)
+            throw new IllegalArgumentException("Cannot set lockstep below 0");
+        this.lockstep = lockstep;
+        checksum = 0;
+        return this;
+    }
+
+    /**
+     * Get the checksum of the state of the Entities after the most recent lockstep tick
+     * <br>
+     * The position, velocity, and sleep state of every Entity are included, in the order the Entities are ticked in
+     *
+     * @return Checksum of the Entities, or 0 if no tick was taken in lockstep mode
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Get the number of ticks the Scene has taken, which is also the tick its most recent snapshot was captured at
+     *
+     * @return Number of ticks
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Get the snapshots of the most recent ticks
+     *
+     * @return SnapshotBuffer of this Scene, or null if no snapshots are taken
+     */
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Set the number of recent ticks to keep snapshots of, so the Scene can be rewound to any of them
+     * <br>
+     * A snapshot of the current state is captured right away. Set to 0 to stop taking snapshots
+     *
+     * @param capacity Number of ticks to keep snapshots of
+     * @return This Scene
+     */
+    public Scene setSnapshotCapacity(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Cannot set capacity below 0");
+        if (snapshots != null) snapshots.clear();
+        snapshots = capacity > 0 ? new SnapshotBuffer(capacity) : null;
+        if (snapshots != null) snapshots.capture(entities, tick);
+        return this;
+    }
+
+    /**
+     * Rewind the Scene to the state it was in after a recent tick
+     * <br>
+     * The Entities of the snapshot are put back into the Scene if any were added or removed since, and their state is
+     * restored without waking them. Snapshots of later ticks are dropped, so ticking again replaces them. Runnables,
+     * settings of the Entities, and the Camera are not rewound
+     *
+     * @param tick Tick to rewind to
+     * @return This Scene
+     */
+    public Scene restore(int tick) {
+        if (snapshots == null || !snapshots.contains(tick))
+            throw new IllegalArgumentException("Cannot restore tick " + tick + " without a snapshot of it");
+        List<Entity> saved = snapshots.getEntities(tick);
+        boolean same = saved.size() == entities.size();
+        for (int i = 0; i < saved.size() && same; i++) same = entities.get(i) == saved.get(i);
+        if (!same) {
+            IdentityHashMap<Entity, Integer> order = new IdentityHashMap<>();
+            for (int i = 0; i < saved.size(); i++) order.put(saved.get(i), i);
+            for (int i = entities.size() - 1; i >= 0; i--) {
+                Entity entity = entities.get(i);
+                if (order.containsKey(entity)) continue;
+                entities.remove(i);
+                broadPhase.remove(entity);
+                entity.setScene(null);
+            }
+            for (Entity entity : saved) {
+                if (!entities.add(entity)) continue;
+                broadPhase.add(entity);
+                entity.setScene(this);
+            }
+            entities.sort(Comparator.comparingInt(order::get));
+            prepared = false;
+        }
+
+        snapshots.restore(tick);
+        snapshots.discardAfter(tick);
+        this.tick = tick;
+        classify();
+        contacts.reset(dynamicEntities);
+        if (lockstep > 0) checksum = computeChecksum();
+        return this;
+    }
+
+    /**
+     * Save the Scene to a binary file, replacing the file if it exists
+     * <br>
+     * The Entities, their Sprites, the Camera, the background, the grid scale, and the speed are saved. Runnables, the
+     * BroadPhase, and the settings of the Motion, Collisions, and Islands are not
+     *
+     * @param path Path of the file
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        SceneSerializer.save(this, path);
+    }
+
+    /**
+     * Load a Scene saved with save
+     *
+     * @param path Path of the file
+     * @return Loaded Scene
+     * @throws IOException If the file cannot be read, is not a Scene file, or has an unsupported version
+     */
+    public static Scene load(Path path) throws IOException {
+        Scene scene = SceneSerializer.load(path);
+        scene.classify();
+        scene.contacts.reset(scene.dynamicEntities);
+        return scene;
+    }
+
     /**
      * Get the Camera for this Scene
      *
@@ -4,10 +4,13 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.transform.Affine;
 import xyz.jeremynoesen.pseudo3d.core.Scene;
 import xyz.jeremynoesen.pseudo3d.core.object.Entity;
+import xyz.jeremynoesen.pseudo3d.core.util.Axis;
 import xyz.jeremynoesen.pseudo3d.core.util.Box;
-import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+import xyz.jeremynoesen.pseudo3d.core.util.MutableVector;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -21,7 +24,7 @@ public class Renderer {
      * Comparator used to sort Scene Entities from lowest to highest z position for draw order
      */
     private final Comparator<Entity> zComparator = (o1, o2) -> {
-        float diff = o1.getPosition().getZ() - o2.getPosition().getZ();
+        float diff = o1.getPosition(Axis.Z) - o2.getPosition(Axis.Z);
         return Math.round(diff / (Float.compare(diff, 0) == 0 ? 1 : Math.abs(diff)));
     };
 
@@ -30,6 +33,11 @@ public class Renderer {
      */
     private final Scene scene;
 
+    /**
+     * Entities of the Scene in the order they are drawn in, kept between frames so they are already nearly sorted
+     */
+    private final ArrayList<Entity> drawOrder;
+
     /**
      * Reference to the Scene's Camera
      */
@@ -38,7 +46,37 @@ public class Renderer {
     /**
      * Position on the Canvas to render from
      */
-    private Vector renderPos;
+    private final MutableVector renderPos;
+
+    /**
+     * Position of the Camera scaled to the grid, updated every frame
+     */
+    private final MutableVector camPos;
+
+    /**
+     * Position of the Entity being drawn scaled to the grid
+     */
+    private final MutableVector objPos;
+
+    /**
+     * Box covering the Canvas, updated every frame
+     */
+    private final Box screenBox;
+
+    /**
+     * Box covering the Sprite being drawn on the Canvas
+     */
+    private final Box spriteBox;
+
+    /**
+     * Transform of the GraphicsContext before drawing the current Sprite
+     */
+    private final Affine original;
+
+    /**
+     * Transform used to rotate the current Sprite
+     */
+    private final Affine transform;
 
     /**
      * JavaFX Canvas GraphicsContext to render to
@@ -50,6 +88,11 @@ public class Renderer {
      */
     private float deltaTime;
 
+    /**
+     * Fraction of the way from the previous to the current positions of the Entities to draw them at
+     */
+    private float alpha;
+
     /**
      * Create a new Renderer for the specified Scene
      *
@@ -57,6 +100,14 @@ public class Renderer {
      */
     public Renderer(Scene scene) {
         this.scene = scene;
+        this.drawOrder = new ArrayList<>();
+        renderPos = new MutableVector();
+        camPos = new MutableVector();
+        objPos = new MutableVector();
+        screenBox = new Box();
+        spriteBox = new Box();
+        original = new Affine();
+        transform = new Affine();
     }
 
     /**
@@ -66,22 +117,48 @@ public class Renderer {
      * @param deltaTime       Time elapsed in last frame, used for Sprite updating
      */
     public void render(GraphicsContext graphicsContext, float deltaTime) {
+        render(graphicsContext, deltaTime, 1);
+    }
+
+    /**
+     * Render the next full frame with Entities drawn part of the way between their previous and current positions
+     *
+     * @param graphicsContext GraphicsContext to draw to
+     * @param deltaTime       Time elapsed in last frame, used for Sprite updating
+     * @param alpha           Fraction of the way from the previous to the current positions, from 0 to 1
+     */
+    public void render(GraphicsContext graphicsContext, float deltaTime, float alpha) {
         this.graphicsContext = graphicsContext;
         this.deltaTime = deltaTime;
+        this.alpha = alpha;
         init();
         drawBackground();
-        for (Entity entity : scene.getEntities()) drawEntity(entity);
+        for (int i = 0; i < drawOrder.size(); i++) drawEntity(drawOrder.get(i));
     }
 
     /**
      * Initialize the render and sort the Scene Entities before starting with the render
+     * <br>
+     * The Entities are sorted in a separate list, so drawing does not change the order the Scene ticks them in
      */
     private void init() {
-        scene.getEntities().sort(zComparator);
+        List<Entity> entities = scene.getEntities();
+        boolean same = drawOrder.size() == entities.size();
+        for (int i = 0; i < drawOrder.size() && same; i++) same = drawOrder.get(i).getScene() == scene;
+        if (!same) {
+            drawOrder.clear();
+            drawOrder.addAll(entities);
+        }
+        drawOrder.sort(zComparator);
         graphicsContext.setImageSmoothing(false);
         camera = scene.getCamera();
-        renderPos = new Vector((float) graphicsContext.getCanvas().getWidth() / 2.0f + camera.getOffset().getX(),
-                (float) graphicsContext.getCanvas().getHeight() / 2.0f + camera.getOffset().getY());
+        renderPos.set((float) graphicsContext.getCanvas().getWidth() / 2.0f + camera.getOffset().getX(),
+                (float) graphicsContext.getCanvas().getHeight() / 2.0f + camera.getOffset().getY(), 0);
+        camPos.set(camera.getPosition()).multiply(scene.getGridScale());
+        short gWidth = (short) graphicsContext.getCanvas().getWidth();
+        short gHeight = (short) graphicsContext.getCanvas().getHeight();
+        screenBox.setWidth(gWidth).setHeight(gHeight);
+        screenBox.setPosition(Axis.X, gWidth / 2.0f).setPosition(Axis.Y, gHeight / 2.0f);
     }
 
     /**
@@ -114,8 +191,7 @@ public class Renderer {
      * @param entity Entity to draw to the Canvas
      */
     private void drawEntity(Entity entity) {
-        Vector objPos = entity.getPosition().multiply(scene.getGridScale());
-        Vector camPos = camera.getPosition().multiply(scene.getGridScale());
+        entity.getInterpolatedPosition(alpha, objPos).multiply(scene.getGridScale());
         float camDist = camPos.getZ() - objPos.getZ();
 
         if (!entity.isEnabled() || !entity.isVisible() || entity.getSprite() == null ||
@@ -139,7 +215,6 @@ public class Renderer {
         }
 
         Sprite sprite = entity.getSprite();
-        short gWidth = (short) graphicsContext.getCanvas().getWidth();
         short gHeight = (short) graphicsContext.getCanvas().getHeight();
 
         int widthScaled = (int) Math.ceil(sprite.getWidth() * scene.getGridScale().getX() * scale);
@@ -147,10 +222,8 @@ public class Renderer {
         float x = ((objPos.getX() - camPos.getX()) * scale) + renderPos.getX();
         float y = gHeight - (((objPos.getY() - camPos.getY()) * scale) + (gHeight - renderPos.getY()));
 
-        Box screenBox = new Box(gWidth, gHeight, new Vector(gWidth / 2.0f, gHeight / 2.0f));
-        Box spriteBox;
-        Affine original = graphicsContext.getTransform();
-        Affine transform = new Affine();
+        graphicsContext.getTransform(original);
+        transform.setToIdentity();
 
         if (Float.compare(camera.getRotation(), 0) != 0 || Float.compare(sprite.getRotation(), 0) != 0) {
             float spriteRotation = -sprite.getRotation();
@@ -172,9 +245,11 @@ public class Renderer {
             float yRotated = (relX * camRotSin) + (relY * camRotCos) + renderPos.getY();
             float xRotated = (relX * camRotCos) - (relY * camRotSin) + renderPos.getX();
 
-            spriteBox = new Box(widthRotated, heightRotated, new Vector(xRotated, yRotated));
+            spriteBox.setWidth(widthRotated).setHeight(heightRotated);
+            spriteBox.setPosition(Axis.X, xRotated).setPosition(Axis.Y, yRotated);
         } else {
-            spriteBox = new Box(widthScaled, heightScaled, new Vector(x, y));
+            spriteBox.setWidth(widthScaled).setHeight(heightScaled);
+            spriteBox.setPosition(Axis.X, x).setPosition(Axis.Y, y);
         }
 
         if (spriteBox.overlaps(screenBox)) {
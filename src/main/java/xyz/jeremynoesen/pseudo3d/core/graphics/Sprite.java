@@ -63,6 +63,16 @@ public class Sprite {
      */
     private boolean paused;
 
+    /**
+     * Paths of the images the Sprite was created from, or null for a color Sprite
+     */
+    private String[] sources;
+
+    /**
+     * Color of a color Sprite, or null for an image Sprite
+     */
+    private Color color;
+
     /**
      * Create a new image Sprite
      *
@@ -75,6 +85,7 @@ public class Sprite {
         this.width = width;
         this.height = height;
         this.rotation = 0;
+        this.sources = new String[]{src};
     }
 
     /**
@@ -89,6 +100,7 @@ public class Sprite {
         this.width = width;
         this.height = height;
         this.rotation = 0;
+        this.color = color;
         ((WritableImage) image).getPixelWriter().setColor(0, 0, color);
     }
 
@@ -114,6 +126,7 @@ public class Sprite {
         setFramerate(frameRate);
         this.currentFrame = 0;
         this.loop = loop;
+        this.sources = src.clone();
     }
 
     /**
@@ -131,6 +144,39 @@ public class Sprite {
         currentFrame = sprite.currentFrame;
         loop = sprite.loop;
         paused = sprite.paused;
+        sources = sprite.sources;
+        color = sprite.color;
+    }
+
+    /**
+     * Make this Sprite a copy of another Sprite in place, reusing its list of images
+     * <br>
+     * This is used to recycle Sprites, such as when an EntityPool resets an Entity
+     *
+     * @param sprite Sprite to copy
+     * @return This Sprite
+     */
+    public Sprite set(Sprite sprite) {
+        if (this == sprite) return this;
+        image = sprite.image;
+        width = sprite.width;
+        height = sprite.height;
+        rotation = sprite.rotation;
+        if (sprite.images == null) {
+            images = null;
+        } else if (images == null) {
+            images = new ArrayList<>(sprite.images);
+        } else if (!images.equals(sprite.images)) {
+            images.clear();
+            images.addAll(sprite.images);
+        }
+        frameStep = sprite.frameStep;
+        currentFrame = sprite.currentFrame;
+        loop = sprite.loop;
+        paused = sprite.paused;
+        sources = sprite.sources;
+        color = sprite.color;
+        return this;
     }
 
     /**
@@ -169,6 +215,35 @@ public class Sprite {
         return this;
     }
 
+    /**
+     * Get the paths of the images the Sprite was created from
+     * <br>
+     * Changing the returned array does not change the Sprite
+     *
+     * @return Paths of the images, or null for a color Sprite
+     */
+    public String[] getSources() {
+        return sources != null ? sources.clone() : null;
+    }
+
+    /**
+     * Get the color of a color Sprite
+     *
+     * @return Color of the Sprite, or null for an image Sprite
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * Check if the Sprite is animated, meaning it was created from a list of images
+     *
+     * @return True if the Sprite is animated
+     */
+    public boolean isAnimated() {
+        return images != null;
+    }
+
     /**
      * Get the dimensions of the Sprite for a specific Axis
      *
@@ -379,6 +454,30 @@ public class Sprite {
         return this;
     }
 
+    /**
+     * Get the exact position in the animation, including how far into the current frame it is
+     *
+     * @return Current frame with its fraction
+     */
+    public float getCurrentFrame() {
+        return currentFrame;
+    }
+
+    /**
+     * Set the exact position in the animation, including how far into the current frame it is
+     * <br>
+     * This is used to restore an animation exactly as it was, such as when rewinding a Scene
+     *
+     * @param currentFrame Current frame with its fraction
+     * @return This Sprite
+     */
+    public Sprite setCurrentFrame(float currentFrame) {
+        this.currentFrame = currentFrame;
+        if (images != null && !images.isEmpty())
+            image = images.get(Math.max(0, Math.min(getFrame(), images.size() - 1)));
+        return this;
+    }
+
     /**
      * Check if two Sprites are similar to each other
      *
@@ -0,0 +1,532 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Axis;
+import xyz.jeremynoesen.pseudo3d.core.util.Box;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * BroadPhase that keeps objects in a dynamic bounding volume hierarchy, so only objects in branches overlapping a Box
+ * are candidates
+ * <br>
+ * Leaves are fattened by a margin, so objects can move a little without being placed back into the tree, and the tree
+ * is rebalanced with rotations as objects are added and removed. This handles Scenes mixing very large and very small
+ * objects better than a uniform grid
+ *
+ * @author Jeremy Noesen
+ */
+public class AABBTree extends BroadPhase {
+
+    /**
+     * Margin used when none is specified
+     */
+    private static final float DEFAULT_MARGIN = 0.1f;
+
+    /**
+     * Leaves of all objects in the tree
+     */
+    private final IdentityHashMap<Physics, Node> leaves;
+
+    /**
+     * Root node of the tree
+     */
+    private Node root;
+
+    /**
+     * Branch node left over from the most recent removal, reused by the next insertion
+     */
+    private Node spare;
+
+    /**
+     * Distance leaf bounds are extended by on every side in grid units
+     */
+    private float margin;
+
+    /**
+     * Nearest object hit by the current raycast
+     */
+    private Physics rayHit;
+
+    /**
+     * Distance to the nearest object hit by the current raycast, or the furthest distance to check before a hit
+     */
+    private float rayDistance;
+
+    /**
+     * Create a new AABBTree with the default margin
+     */
+    public AABBTree() {
+        super();
+        leaves = new IdentityHashMap<>();
+        root = null;
+        spare = null;
+        margin = DEFAULT_MARGIN;
+        rayHit = null;
+        rayDistance = 0;
+    }
+
+    /**
+     * Create a new AABBTree with a specific margin
+     *
+     * @param margin Distance leaf bounds are extended by on every side in grid units
+     */
+    public AABBTree(float margin) {
+        this();
+        setMargin(margin);
+    }
+
+    /**
+     * Add a Physics object to the tree
+     *
+     * @param physics Physics object to add
+     */
+    @Override
+    public void add(Physics physics) {
+        if (leaves.containsKey(physics)) {
+            update(physics);
+            return;
+        }
+        Node leaf = new Node(physics);
+        leaves.put(physics, leaf);
+        fatten(leaf);
+        insert(leaf);
+    }
+
+    /**
+     * Remove a Physics object from the tree
+     *
+     * @param physics Physics object to remove
+     */
+    @Override
+    public void remove(Physics physics) {
+        Node leaf = leaves.remove(physics);
+        if (leaf != null) extract(leaf);
+    }
+
+    /**
+     * Place a Physics object back into the tree if it moved outside its fattened bounds
+     *
+     * @param physics Physics object that changed
+     */
+    @Override
+    public void update(Physics physics) {
+        Node leaf = leaves.get(physics);
+        if (leaf == null || encloses(leaf, physics)) return;
+        extract(leaf);
+        fatten(leaf);
+        insert(leaf);
+    }
+
+    /**
+     * Remove all Physics objects from the tree
+     */
+    @Override
+    public void clear() {
+        leaves.clear();
+        root = null;
+    }
+
+    /**
+     * Collect all objects whose fattened bounds overlap a Box
+     *
+     * @param box        Box to find candidates for
+     * @param candidates Empty list to collect candidates into
+     */
+    @Override
+    protected void collect(Box box, ArrayList<Physics> candidates) {
+        if (root == null) return;
+        float minX = Math.min(box.getMinimum(Axis.X), box.getMaximum(Axis.X));
+        float maxX = Math.max(box.getMinimum(Axis.X), box.getMaximum(Axis.X));
+        float minY = Math.min(box.getMinimum(Axis.Y), box.getMaximum(Axis.Y));
+        float maxY = Math.max(box.getMinimum(Axis.Y), box.getMaximum(Axis.Y));
+        float minZ = Math.min(box.getMinimum(Axis.Z), box.getMaximum(Axis.Z));
+        float maxZ = Math.max(box.getMinimum(Axis.Z), box.getMaximum(Axis.Z));
+        collect(root, minX, maxX, minY, maxY, minZ, maxZ, candidates);
+        sort(candidates);
+    }
+
+    /**
+     * Collect the objects of all leaves below a node whose bounds overlap a region
+     * <br>
+     * The tree is kept balanced, so the depth of this recursion stays logarithmic
+     *
+     * @param node       Node to start at
+     * @param candidates List to collect candidates into
+     */
+    private static void collect(Node node, float minX, float maxX, float minY, float maxY, float minZ, float maxZ,
+                                ArrayList<Physics> candidates) {
+        if (node.minX > maxX || node.maxX < minX || node.minY > maxY || node.maxY < minY ||
+                node.minZ > maxZ || node.maxZ < minZ) return;
+        if (node.isLeaf()) {
+            candidates.add(node.physics);
+        } else {
+            collect(node.left, minX, maxX, minY, maxY, minZ, maxZ, candidates);
+            collect(node.right, minX, maxX, minY, maxY, minZ, maxZ, candidates);
+        }
+    }
+
+    /**
+     * Find the first Physics object hit by a ray by walking down the branches it passes through, nearest first
+     * <br>
+     * Objects the ray starts inside are ignored, so a ray cast from an object does not hit the object itself
+     *
+     * @param origin      Position the ray starts at
+     * @param direction   Direction of the ray, which does not need to be normalized but cannot have a length of 0
+     * @param maxDistance Furthest distance along the ray to check in grid units
+     * @return First object hit, or null if nothing was hit
+     */
+    @Override
+    public Physics raycast(Vector origin, Vector direction, float maxDistance) {
+        checkRay(direction, maxDistance);
+        Vector unit = direction.normalize();
+        rayHit = null;
+        rayDistance = Math.min(maxDistance, Float.MAX_VALUE);
+        if (root != null) raycast(root, origin, unit);
+        Physics hit = rayHit;
+        rayHit = null;
+        return hit;
+    }
+
+    /**
+     * Check the leaves below a node for a hit nearer than the nearest one found so far
+     *
+     * @param node      Node to start at
+     * @param origin    Position the ray starts at
+     * @param direction Normalized direction of the ray
+     */
+    private void raycast(Node node, Vector origin, Vector direction) {
+        if (node.isLeaf()) {
+            Physics physics = node.physics;
+            float distance = intersect(physics.getMinimum(Axis.X), physics.getMaximum(Axis.X),
+                    physics.getMinimum(Axis.Y), physics.getMaximum(Axis.Y),
+                    physics.getMinimum(Axis.Z), physics.getMaximum(Axis.Z), origin, direction, rayDistance);
+            if (Float.compare(distance, 0) > 0 && (distance < rayDistance || rayHit == null)) {
+                rayDistance = distance;
+                rayHit = physics;
+            }
+            return;
+        }
+        float left = enter(node.left, origin, direction), right = enter(node.right, origin, direction);
+        Node near = node.left, far = node.right;
+        if (right >= 0 && (left < 0 || right < left)) {
+            near = node.right;
+            far = node.left;
+            float distance = left;
+            left = right;
+            right = distance;
+        }
+        if (left >= 0) raycast(near, origin, direction);
+        if (right >= 0 && right <= rayDistance) raycast(far, origin, direction);
+    }
+
+    /**
+     * Get the distance along a ray where it enters the bounds of a node
+     *
+     * @param node      Node to check
+     * @param origin    Position the ray starts at
+     * @param direction Normalized direction of the ray
+     * @return Distance to the node, 0 if the ray starts inside it, or -1 if the ray misses it
+     */
+    private float enter(Node node, Vector origin, Vector direction) {
+        return intersect(node.minX, node.maxX, node.minY, node.maxY, node.minZ, node.maxZ, origin, direction,
+                rayDistance);
+    }
+
+    /**
+     * Get the distance leaf bounds are extended by on every side
+     *
+     * @return Margin in grid units
+     */
+    public float getMargin() {
+        return margin;
+    }
+
+    /**
+     * Set the distance leaf bounds are extended by on every side
+     * <br>
+     * Larger margins let objects move further before being placed back into the tree, but produce more candidates
+     *
+     * @param margin Margin in grid units
+     * @return This AABBTree
+     */
+    public AABBTree setMargin(float margin) {
+        if (Float.compare(margin, 0) < 0)
+            throw new IllegalArgumentException("Cannot set margin below 0");
+        this.margin = margin;
+        root = null;
+        for (Node leaf : leaves.values()) {
+            leaf.parent = null;
+            fatten(leaf);
+            insert(leaf);
+        }
+        return this;
+    }
+
+    /**
+     * Get the height of the tree
+     *
+     * @return Height of the root node, or -1 if the tree is empty
+     */
+    public int getHeight() {
+        return root == null ? -1 : root.height;
+    }
+
+    /**
+     * Place a leaf into the tree next to the sibling that grows the surface area of the tree the least
+     *
+     * @param leaf Leaf to place
+     */
+    private void insert(Node leaf) {
+        if (root == null) {
+            root = leaf;
+            leaf.parent = null;
+            return;
+        }
+
+        Node sibling = root;
+        while (!sibling.isLeaf()) {
+            float area = getArea(sibling);
+            float combined = getCombinedArea(sibling, leaf);
+            float cost = 2 * combined;
+            float inheritance = 2 * (combined - area);
+            float costLeft = getDescendCost(sibling.left, leaf) + inheritance;
+            float costRight = getDescendCost(sibling.right, leaf) + inheritance;
+            if (cost < costLeft && cost < costRight) break;
+            sibling = costLeft < costRight ? sibling.left : sibling.right;
+        }
+
+        Node oldParent = sibling.parent;
+        Node parent = spare != null ? spare : new Node(null);
+        spare = null;
+        parent.parent = oldParent;
+        parent.left = sibling;
+        parent.right = leaf;
+        sibling.parent = parent;
+        leaf.parent = parent;
+        if (oldParent == null) root = parent;
+        else if (oldParent.left == sibling) oldParent.left = parent;
+        else oldParent.right = parent;
+
+        refit(parent);
+    }
+
+    /**
+     * Remove a leaf from the tree and replace its parent with its sibling
+     *
+     * @param leaf Leaf to remove
+     */
+    private void extract(Node leaf) {
+        if (leaf == root) {
+            root = null;
+            return;
+        }
+        Node parent = leaf.parent;
+        Node grandParent = parent.parent;
+        Node sibling = parent.left == leaf ? parent.right : parent.left;
+        sibling.parent = grandParent;
+        if (grandParent == null) {
+            root = sibling;
+        } else {
+            if (grandParent.left == parent) grandParent.left = sibling;
+            else grandParent.right = sibling;
+            refit(grandParent);
+        }
+        parent.parent = null;
+        parent.left = null;
+        parent.right = null;
+        spare = parent;
+        leaf.parent = null;
+    }
+
+    /**
+     * Recalculate the bounds and heights of a node and all its ancestors, rebalancing them on the way up
+     *
+     * @param node Node to start at
+     */
+    private void refit(Node node) {
+        while (node != null) {
+            node = balance(node);
+            node.enclose(node.left, node.right);
+            node.height = 1 + Math.max(node.left.height, node.right.height);
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Rotate a node's taller child up if the heights of its children differ by more than one
+     *
+     * @param a Node to balance
+     * @return Node now at the position of the balanced node
+     */
+    private Node balance(Node a) {
+        if (a.isLeaf()) return a;
+        Node b = a.left;
+        Node c = a.right;
+        int difference = c.height - b.height;
+        if (difference > 1) return rotate(a, c, b);
+        if (difference < -1) return rotate(a, b, c);
+        return a;
+    }
+
+    /**
+     * Rotate a taller child of a node up into its place, moving the shorter grandchild down to the node
+     *
+     * @param a     Node to rotate down
+     * @param tall  Taller child of the node
+     * @param other Shorter child of the node
+     * @return Taller child now at the position of the node
+     */
+    private Node rotate(Node a, Node tall, Node other) {
+        Node f = tall.left;
+        Node g = tall.right;
+
+        tall.left = a;
+        tall.parent = a.parent;
+        a.parent = tall;
+        if (tall.parent == null) root = tall;
+        else if (tall.parent.left == a) tall.parent.left = tall;
+        else tall.parent.right = tall;
+
+        Node kept = f.height > g.height ? f : g;
+        Node moved = kept == f ? g : f;
+        tall.right = kept;
+        if (a.left == tall) a.left = moved;
+        else a.right = moved;
+        moved.parent = a;
+
+        a.enclose(other, moved);
+        a.height = 1 + Math.max(other.height, moved.height);
+        tall.enclose(a, kept);
+        tall.height = 1 + Math.max(a.height, kept.height);
+        return tall;
+    }
+
+    /**
+     * Set the bounds of a leaf to the bounds of its object extended by the margin
+     *
+     * @param leaf Leaf to fatten
+     */
+    private void fatten(Node leaf) {
+        Box box = leaf.physics;
+        leaf.minX = Math.min(box.getMinimum(Axis.X), box.getMaximum(Axis.X)) - margin;
+        leaf.maxX = Math.max(box.getMinimum(Axis.X), box.getMaximum(Axis.X)) + margin;
+        leaf.minY = Math.min(box.getMinimum(Axis.Y), box.getMaximum(Axis.Y)) - margin;
+        leaf.maxY = Math.max(box.getMinimum(Axis.Y), box.getMaximum(Axis.Y)) + margin;
+        leaf.minZ = Math.min(box.getMinimum(Axis.Z), box.getMaximum(Axis.Z)) - margin;
+        leaf.maxZ = Math.max(box.getMinimum(Axis.Z), box.getMaximum(Axis.Z)) + margin;
+    }
+
+    /**
+     * Check if the fattened bounds of a leaf still enclose its object
+     *
+     * @param leaf Leaf to check
+     * @param box  Current bounds of the object
+     * @return True if the object is still inside the leaf bounds
+     */
+    private static boolean encloses(Node leaf, Box box) {
+        return leaf.minX <= Math.min(box.getMinimum(Axis.X), box.getMaximum(Axis.X)) &&
+                leaf.maxX >= Math.max(box.getMinimum(Axis.X), box.getMaximum(Axis.X)) &&
+                leaf.minY <= Math.min(box.getMinimum(Axis.Y), box.getMaximum(Axis.Y)) &&
+                leaf.maxY >= Math.max(box.getMinimum(Axis.Y), box.getMaximum(Axis.Y)) &&
+                leaf.minZ <= Math.min(box.getMinimum(Axis.Z), box.getMaximum(Axis.Z)) &&
+                leaf.maxZ >= Math.max(box.getMinimum(Axis.Z), box.getMaximum(Axis.Z));
+    }
+
+    /**
+     * Get the cost of placing a leaf somewhere below a node
+     *
+     * @param node Node to descend into
+     * @param leaf Leaf being placed
+     * @return Increase in surface area caused by descending into the node
+     */
+    private static float getDescendCost(Node node, Node leaf) {
+        float combined = getCombinedArea(node, leaf);
+        return node.isLeaf() ? combined : combined - getArea(node);
+    }
+
+    /**
+     * Get the surface area of a node's bounds
+     *
+     * @param node Node to get the surface area of
+     * @return Surface area of the node
+     */
+    private static float getArea(Node node) {
+        float x = node.maxX - node.minX, y = node.maxY - node.minY, z = node.maxZ - node.minZ;
+        return 2 * (x * y + y * z + x * z);
+    }
+
+    /**
+     * Get the surface area of the bounds enclosing two nodes
+     *
+     * @param a First node
+     * @param b Second node
+     * @return Surface area of the combined bounds
+     */
+    private static float getCombinedArea(Node a, Node b) {
+        float x = Math.max(a.maxX, b.maxX) - Math.min(a.minX, b.minX);
+        float y = Math.max(a.maxY, b.maxY) - Math.min(a.minY, b.minY);
+        float z = Math.max(a.maxZ, b.maxZ) - Math.min(a.minZ, b.minZ);
+        return 2 * (x * y + y * z + x * z);
+    }
+
+    /**
+     * Node of the tree, which is either a leaf holding an object or a branch with two children
+     */
+    private static class Node {
+
+        /**
+         * Physics object of a leaf, or null for a branch
+         */
+        private final Physics physics;
+
+        /**
+         * Bounds of the node
+         */
+        private float minX, maxX, minY, maxY, minZ, maxZ;
+
+        /**
+         * Parent and children of the node
+         */
+        private Node parent, left, right;
+
+        /**
+         * Height of the node above its deepest leaf
+         */
+        private int height;
+
+        /**
+         * Create a new Node for a Physics object
+         *
+         * @param physics Physics object of the leaf, or null for a branch
+         */
+        private Node(Physics physics) {
+            this.physics = physics;
+        }
+
+        /**
+         * Check if the node is a leaf
+         *
+         * @return True if the node holds an object
+         */
+        private boolean isLeaf() {
+            return left == null;
+        }
+
+        /**
+         * Set the bounds of the node to enclose two other nodes
+         *
+         * @param a First node
+         * @param b Second node
+         */
+        private void enclose(Node a, Node b) {
+            minX = Math.min(a.minX, b.minX);
+            maxX = Math.max(a.maxX, b.maxX);
+            minY = Math.min(a.minY, b.minY);
+            maxY = Math.max(a.maxY, b.maxY);
+            minZ = Math.min(a.minZ, b.minZ);
+            maxZ = Math.max(a.maxZ, b.maxZ);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Axis;
+import xyz.jeremynoesen.pseudo3d.core.util.Box;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Broad phase used to find which Physics objects in a Scene may be colliding before testing them exactly
+ *
+ * @author Jeremy Noesen
+ */
+public abstract class BroadPhase {
+
+    /**
+     * Comparator used to sort candidates into the order the Scene ticks collisions in
+     */
+    protected static final Comparator<Physics> ORDER = Comparator.comparingInt(physics -> physics.order);
+
+    /**
+     * Largest number of candidates sorted with insertion sort
+     */
+    private static final int INSERTION_SORT_SIZE = 32;
+
+    /**
+     * Reusable list of candidates returned by a query
+     */
+    protected final ArrayList<Physics> candidates;
+
+    /**
+     * Whether objects only mark themselves as moved instead of updating the BroadPhase, used while objects update
+     * their motion in parallel
+     */
+    boolean deferred;
+
+    /**
+     * Number of candidate pairs produced in the current collision pass
+     */
+    private final LongAdder candidatePairs;
+
+    /**
+     * Number of candidate pairs produced since the BroadPhase was created
+     */
+    private final LongAdder totalCandidatePairs;
+
+    /**
+     * Create a new empty BroadPhase
+     */
+    public BroadPhase() {
+        candidates = new ArrayList<>();
+        candidatePairs = new LongAdder();
+        totalCandidatePairs = new LongAdder();
+    }
+
+    /**
+     * Add a Physics object to the BroadPhase
+     *
+     * @param physics Physics object to add
+     */
+    public abstract void add(Physics physics);
+
+    /**
+     * Remove a Physics object from the BroadPhase
+     *
+     * @param physics Physics object to remove
+     */
+    public abstract void remove(Physics physics);
+
+    /**
+     * Update the BroadPhase after the position or dimensions of a Physics object changed
+     * <br>
+     * Objects that were never added are ignored
+     *
+     * @param physics Physics object that changed
+     */
+    public abstract void update(Physics physics);
+
+    /**
+     * Remove all Physics objects from the BroadPhase
+     */
+    public abstract void clear();
+
+    /**
+     * Collect all Physics objects that may overlap a Box, sorted in the order the Scene ticks collisions in
+     * <br>
+     * This must be safe to call from several threads at once while no objects are added, removed, or updated
+     *
+     * @param box        Box to find candidates for
+     * @param candidates Empty list to collect candidates into
+     */
+    protected abstract void collect(Box box, ArrayList<Physics> candidates);
+
+    /**
+     * Get all Physics objects that may overlap a Box, sorted in the order the Scene ticks collisions in
+     * <br>
+     * The returned list is reused by the next query, and may contain the Box itself
+     *
+     * @param box Box to find candidates for
+     * @return List of candidates
+     */
+    public List<Physics> query(Box box) {
+        query(box, candidates);
+        return candidates;
+    }
+
+    /**
+     * Collect all Physics objects that may overlap a Box into a list, sorted in the order the Scene ticks collisions in
+     * <br>
+     * This can be called from several threads at once, each with its own list, while no objects are added, removed,
+     * or updated. The list may contain the Box itself
+     *
+     * @param box        Box to find candidates for
+     * @param candidates List to collect candidates into, which is cleared first
+     */
+    public void query(Box box, ArrayList<Physics> candidates) {
+        candidates.clear();
+        collect(box, candidates);
+        candidatePairs.add(candidates.size());
+        totalCandidatePairs.add(candidates.size());
+    }
+
+    /**
+     * Collect all Physics objects that may overlap a Box into a list without counting them as candidate pairs, for
+     * queries made outside of collision passes
+     * <br>
+     * This can be called from several threads at once, each with its own list, while no objects are added, removed,
+     * or updated. The list may contain the Box itself
+     *
+     * @param box        Box to find candidates for
+     * @param candidates List to collect candidates into, which is cleared first
+     */
+    public void search(Box box, ArrayList<Physics> candidates) {
+        candidates.clear();
+        collect(box, candidates);
+    }
+
+    /**
+     * Get all Physics objects that may collide with or overlap an object, sorted in the order the Scene ticks
+     * collisions in
+     * <br>
+     * Objects whose collision layers and masks do not let them interact with the object are left out. The returned
+     * list is reused by the next query, and may contain the object itself
+     *
+     * @param physics Object to find candidates for
+     * @return List of candidates
+     */
+    public List<Physics> query(Physics physics) {
+        query(physics, candidates);
+        return candidates;
+    }
+
+    /**
+     * Collect all Physics objects that may collide with or overlap an object into a list, sorted in the order the Scene
+     * ticks collisions in
+     * <br>
+     * Objects whose collision layers and masks do not let them interact with the object are left out. This can be
+     * called from several threads at once, each with its own list, while no objects are added, removed, or updated.
+     * The list may contain the object itself
+     *
+     * @param physics    Object to find candidates for
+     * @param candidates List to collect candidates into, which is cleared first
+     */
+    public void query(Physics physics, ArrayList<Physics> candidates) {
+        candidates.clear();
+        collect(physics, candidates);
+        int size = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            Physics candidate = candidates.get(i);
+            if (candidate == physics || physics.canInteract(candidate)) candidates.set(size++, candidate);
+        }
+        while (candidates.size() > size) candidates.remove(candidates.size() - 1);
+        candidatePairs.add(size);
+        totalCandidatePairs.add(size);
+    }
+
+    /**
+     * Find the first Physics object hit by a ray
+     * <br>
+     * Objects the ray starts inside are ignored, so a ray cast from an object does not hit the object itself. The ray
+     * is checked in pieces that double in length, so it stops at the first piece with a hit instead of collecting every
+     * object along it. This reuses the list of query, so it must not be called while other queries are running
+     *
+     * @param origin      Position the ray starts at
+     * @param direction   Direction of the ray, which does not need to be normalized but cannot have a length of 0
+     * @param maxDistance Furthest distance along the ray to check in grid units
+     * @return First object hit, or null if nothing was hit
+     */
+    public Physics raycast(Vector origin, Vector direction, float maxDistance) {
+        checkRay(direction, maxDistance);
+        Vector unit = direction.normalize();
+        maxDistance = Math.min(maxDistance, Float.MAX_VALUE);
+        Box segment = new Box();
+        for (float start = 0, length = getRayStep(); ; start += length, length *= 2) {
+            float end = Math.min(start + length, maxDistance);
+            for (Axis axis : Axis.values()) {
+                float from = origin.get(axis) + (unit.get(axis) * start), to = origin.get(axis) + (unit.get(axis) * end);
+                segment.setDimensions(axis, Math.abs(to - from)).setPosition(axis, (from + to) / 2);
+            }
+            candidates.clear();
+            collect(segment, candidates);
+
+            Physics hit = null;
+            float nearest = Float.MAX_VALUE;
+            for (int i = 0; i < candidates.size(); i++) {
+                Physics physics = candidates.get(i);
+                float distance = intersect(physics.getMinimum(Axis.X), physics.getMaximum(Axis.X),
+                        physics.getMinimum(Axis.Y), physics.getMaximum(Axis.Y),
+                        physics.getMinimum(Axis.Z), physics.getMaximum(Axis.Z), origin, unit, maxDistance);
+                if (Float.compare(distance, 0) > 0 && distance < nearest) {
+                    nearest = distance;
+                    hit = physics;
+                }
+            }
+            candidates.clear();
+            if (hit != null && nearest <= end) return hit;
+            if (end >= maxDistance) return null;
+        }
+    }
+
+    /**
+     * Check that a ray can be cast
+     * <br>
+     * A NaN distance would never end the ray, so it is rejected like a negative one
+     *
+     * @param direction   Direction of the ray
+     * @param maxDistance Furthest distance along the ray to check
+     */
+    protected static void checkRay(Vector direction, float maxDistance) {
+        if (!(maxDistance >= 0))
+            throw new IllegalArgumentException("Cannot set maxDistance below 0 or to NaN");
+        if (Float.compare(direction.getMagnitude(), 0) == 0)
+            throw new IllegalArgumentException("Cannot cast a ray with a direction of length 0");
+    }
+
+    /**
+     * Get the length of the first piece a ray is checked in
+     *
+     * @return Length of the first piece in grid units
+     */
+    protected float getRayStep() {
+        return Float.MAX_VALUE;
+    }
+
+    /**
+     * Get the distance along a ray where it enters a region
+     *
+     * @param minX        Minimum x of the region
+     * @param maxX        Maximum x of the region
+     * @param minY        Minimum y of the region
+     * @param maxY        Maximum y of the region
+     * @param minZ        Minimum z of the region
+     * @param maxZ        Maximum z of the region
+     * @param origin      Position the ray starts at
+     * @param direction   Normalized direction of the ray
+     * @param maxDistance Furthest distance along the ray to check
+     * @return Distance to the region, 0 if the ray starts inside it, or -1 if the ray misses it
+     */
+    protected static float intersect(float minX, float maxX, float minY, float maxY, float minZ, float maxZ,
+                                     Vector origin, Vector direction, float maxDistance) {
+        float near = 0, far = maxDistance;
+        for (Axis axis : Axis.values()) {
+            float min = axis == Axis.X ? minX : axis == Axis.Y ? minY : minZ;
+            float max = axis == Axis.X ? maxX : axis == Axis.Y ? maxY : maxZ;
+            float o = origin.get(axis), d = direction.get(axis);
+            if (Float.compare(d, 0) == 0) {
+                if (o < min || o > max) return -1;
+                continue;
+            }
+            float t1 = (min - o) / d, t2 = (max - o) / d;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) return -1;
+        }
+        return near;
+    }
+
+    /**
+     * Sort candidates into the order the Scene ticks collisions in without allocating
+     * <br>
+     * Short lists use insertion sort and longer lists use heapsort, as sorting with a Comparator allocates for longer
+     * lists. Entries of the same object may end up in any order among themselves
+     *
+     * @param candidates Candidates to sort
+     */
+    protected static void sort(ArrayList<Physics> candidates) {
+        int size = candidates.size();
+        if (size <= INSERTION_SORT_SIZE) {
+            for (int i = 1; i < size; i++) {
+                Physics physics = candidates.get(i);
+                int j = i;
+                while (j > 0 && candidates.get(j - 1).order > physics.order) {
+                    candidates.set(j, candidates.get(j - 1));
+                    j--;
+                }
+                candidates.set(j, physics);
+            }
+            return;
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) sift(candidates, i, size);
+        for (int end = size - 1; end > 0; end--) {
+            Physics first = candidates.get(0);
+            candidates.set(0, candidates.get(end));
+            candidates.set(end, first);
+            sift(candidates, 0, end);
+        }
+    }
+
+    /**
+     * Move a candidate down the heap until both its children come before it in the order
+     *
+     * @param candidates Candidates arranged as a heap
+     * @param i          Index of the candidate to move down
+     * @param size       Number of candidates in the heap
+     */
+    private static void sift(ArrayList<Physics> candidates, int i, int size) {
+        Physics physics = candidates.get(i);
+        while (true) {
+            int child = (2 * i) + 1;
+            if (child >= size) break;
+            if (child + 1 < size && candidates.get(child + 1).order > candidates.get(child).order) child++;
+            if (candidates.get(child).order <= physics.order) break;
+            candidates.set(i, candidates.get(child));
+            i = child;
+        }
+        candidates.set(i, physics);
+    }
+
+    /**
+     * Prepare the BroadPhase for a collision pass over all objects in the order they will be ticked in
+     *
+     * @param objects Objects in the order they will be ticked in
+     */
+    public void prepare(List<? extends Physics> objects) {
+        for (int i = 0; i < objects.size(); i++) objects.get(i).order = i;
+        candidatePairs.reset();
+    }
+
+    /**
+     * Get the number of candidate pairs produced in the current or most recent collision pass
+     * <br>
+     * Each query counts every candidate it returns, including the queried object itself
+     *
+     * @return Number of candidate pairs
+     */
+    public long getCandidatePairs() {
+        return candidatePairs.sum();
+    }
+
+    /**
+     * Get the number of candidate pairs produced since the BroadPhase was created or last reset
+     *
+     * @return Total number of candidate pairs
+     */
+    public long getTotalCandidatePairs() {
+        return totalCandidatePairs.sum();
+    }
+
+    /**
+     * Reset the candidate pair counters
+     */
+    public void resetCandidatePairs() {
+        candidatePairs.reset();
+        totalCandidatePairs.reset();
+    }
+}
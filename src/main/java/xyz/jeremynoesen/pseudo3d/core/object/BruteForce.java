@@ -0,0 +1,165 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Bounds;
+import xyz.jeremynoesen.pseudo3d.core.util.Box;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BroadPhase that tests every object in the Scene
+ * <br>
+ * The bounds of all objects are packed into a Bounds, so each query tests batches of objects at once, using SIMD
+ * instructions when Bounds is accelerated
+ *
+ * @author Jeremy Noesen
+ */
+public class BruteForce extends BroadPhase {
+
+    /**
+     * Objects, each at its index
+     */
+    private Physics[] objects;
+
+    /**
+     * Number of objects
+     */
+    private int size;
+
+    /**
+     * Bounds of the objects, at the same indices
+     */
+    private final Bounds bounds;
+
+    /**
+     * Whether the objects are in the order they will be ticked in, so candidates need no sorting
+     */
+    private boolean ordered;
+
+    /**
+     * Create a new BruteForce BroadPhase
+     */
+    public BruteForce() {
+        super();
+        objects = new Physics[64];
+        size = 0;
+        bounds = new Bounds();
+        ordered = true;
+    }
+
+    /**
+     * Add a Physics object to the end of the objects
+     *
+     * @param physics Physics object to add
+     */
+    @Override
+    public void add(Physics physics) {
+        if (contains(physics)) return;
+        if (size == objects.length) objects = Arrays.copyOf(objects, size * 2);
+        physics.index = size;
+        objects[size++] = physics;
+        bounds.add(physics);
+        ordered = false;
+    }
+
+    /**
+     * Remove a Physics object, moving the last object into its index
+     *
+     * @param physics Physics object to remove
+     */
+    @Override
+    public void remove(Physics physics) {
+        if (!contains(physics)) return;
+        int index = physics.index, last = --size;
+        objects[index] = objects[last];
+        objects[index].index = index;
+        objects[last] = null;
+        bounds.remove(index);
+        ordered = false;
+    }
+
+    /**
+     * Copy the bounds of an object again after it moved
+     *
+     * @param physics Physics object that changed
+     */
+    @Override
+    public void update(Physics physics) {
+        if (contains(physics)) bounds.set(physics.index, physics);
+    }
+
+    /**
+     * Remove all Physics objects from the BroadPhase
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        bounds.clear();
+        ordered = true;
+    }
+
+    /**
+     * Collect every object overlapping a Box, testing a batch of objects at a time
+     *
+     * @param box        Box to find candidates for
+     * @param candidates Empty list to collect candidates into
+     */
+    @Override
+    protected void collect(Box box, ArrayList<Physics> candidates) {
+        for (int start = 0; start < size; start += Bounds.BATCH_SIZE) {
+            long mask = box.overlaps(bounds, start);
+            while (mask != 0) {
+                candidates.add(objects[start + Long.numberOfTrailingZeros(mask)]);
+                mask &= mask - 1;
+            }
+        }
+        if (!ordered) sort(candidates);
+    }
+
+    /**
+     * Prepare for a collision pass, moving the objects into the order they will be ticked in if it changed, so
+     * candidates are collected already sorted
+     *
+     * @param objects Objects in the order they will be ticked in
+     */
+    @Override
+    public void prepare(List<? extends Physics> objects) {
+        super.prepare(objects);
+        int next = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            Physics physics = objects.get(i);
+            if (!contains(physics)) continue;
+            if (physics.index != next) swap(physics.index, next);
+            next++;
+        }
+        ordered = next == size;
+    }
+
+    /**
+     * Check if a Physics object is held by this BruteForce
+     *
+     * @param physics Physics object to check
+     * @return True if the object is at its index
+     */
+    private boolean contains(Physics physics) {
+        return physics.index >= 0 && physics.index < size && objects[physics.index] == physics;
+    }
+
+    /**
+     * Swap the objects at two indices along with their bounds
+     *
+     * @param a Index of the first object
+     * @param b Index of the second object
+     */
+    private void swap(int a, int b) {
+        Physics physics = objects[a];
+        objects[a] = objects[b];
+        objects[b] = physics;
+        objects[a].index = a;
+        objects[b].index = b;
+        bounds.set(a, objects[a]);
+        bounds.set(b, objects[b]);
+    }
+}
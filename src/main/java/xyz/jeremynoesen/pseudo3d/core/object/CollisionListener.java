@@ -0,0 +1,57 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Side;
+
+/**
+ * Listener added to an Entity to be told when other objects start, keep, and stop colliding with or overlapping it
+ * <br>
+ * Events are queued as a Scene ticks and dispatched once at the end of the tick, so listeners may change the Scene.
+ * Every method does nothing by default, so only the events that are needed have to be implemented
+ *
+ * @author Jeremy Noesen
+ */
+public interface CollisionListener {
+
+    /**
+     * Called when another object starts colliding with the Entity
+     *
+     * @param other Object colliding with the Entity
+     * @param side  Side of the Entity the object collides on
+     */
+    default void onCollisionEnter(Physics other, Side side) {
+    }
+
+    /**
+     * Called once per tick for every object that was already colliding with the Entity in the previous tick and still is
+     *
+     * @param other Object colliding with the Entity
+     * @param side  Side of the Entity the object collides on
+     */
+    default void onCollisionStay(Physics other, Side side) {
+    }
+
+    /**
+     * Called when another object stops colliding with the Entity
+     *
+     * @param other Object that was colliding with the Entity
+     * @param side  Side of the Entity the object last collided on
+     */
+    default void onCollisionExit(Physics other, Side side) {
+    }
+
+    /**
+     * Called when another object starts overlapping the Entity without colliding with it
+     *
+     * @param other Object overlapping the Entity
+     */
+    default void onOverlapEnter(Physics other) {
+    }
+
+    /**
+     * Called when another object stops overlapping the Entity
+     *
+     * @param other Object that was overlapping the Entity
+     */
+    default void onOverlapExit(Physics other) {
+    }
+}
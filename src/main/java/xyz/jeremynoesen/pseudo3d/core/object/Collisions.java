@@ -0,0 +1,182 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Collision pass of a Scene, split into a detect stage and a resolve stage
+ * <br>
+ * The detect stage finds the objects overlapping each object without changing anything, so it can run in parallel on
+ * a ForkJoinPool. The resolve stage then corrects positions one object at a time in order, so both ways give exactly
+ * the same results
+ *
+ * @author Jeremy Noesen
+ */
+public class Collisions {
+
+    /**
+     * Number of objects below which a task is no longer split
+     */
+    private static final int DEFAULT_THRESHOLD = 128;
+
+    /**
+     * Objects of the current pass in the order they are ticked in
+     */
+    private Physics[] objects;
+
+    /**
+     * Reusable lists of candidates for the detect stage, one for each thread detecting collisions
+     */
+    private final ThreadLocal<ArrayList<Physics>> candidates;
+
+    /**
+     * Pool to detect collisions on, or null to detect serially
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Number of objects below which a task is no longer split
+     */
+    private int threshold;
+
+    /**
+     * Create a new serial Collisions pass
+     */
+    public Collisions() {
+        objects = new Physics[0];
+        candidates = ThreadLocal.withInitial(ArrayList::new);
+        pool = null;
+        threshold = DEFAULT_THRESHOLD;
+    }
+
+    /**
+     * Reset the contacts of the static objects, then detect the contacts of all other objects and resolve them in order
+     * <br>
+     * Static objects do not look for contacts, they only receive the ones found by the other objects
+     * <br>
+     * The BroadPhase must be prepared for the pass before this is called
+     *
+     * @param objects       Objects that are not static, in the order they will be ticked in
+     * @param staticObjects Static objects
+     */
+    public void tick(List<? extends Physics> objects, List<? extends Physics> staticObjects) {
+        for (int i = 0; i < staticObjects.size(); i++) staticObjects.get(i).resetCollisions();
+
+        int size = objects.size();
+        if (this.objects.length < size) this.objects = new Physics[size];
+        int i;
+        for (i = 0; i < size; i++) this.objects[i] = objects.get(i);
+
+        if (pool == null || size <= threshold) detect(0, size);
+        else pool.invoke(new Task(this, 0, size));
+
+        for (i = 0; i < size; i++) {
+            this.objects[i].resolveCollisions();
+            this.objects[i] = null;
+        }
+    }
+
+    /**
+     * Detect the contacts of a range of objects
+     *
+     * @param from Index of the first object
+     * @param to   Index after the last object
+     */
+    private void detect(int from, int to) {
+        ArrayList<Physics> candidates = this.candidates.get();
+        for (int i = from; i < to; i++) objects[i].detectCollisions(candidates);
+    }
+
+    /**
+     * Get the pool collisions are detected on
+     *
+     * @return ForkJoinPool, or null if collisions are detected serially
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Set the pool to detect collisions on
+     * <br>
+     * Set to null to detect collisions serially
+     *
+     * @param pool ForkJoinPool to use
+     * @return This Collisions pass
+     */
+    public Collisions setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Get the number of objects below which work is no longer split between threads
+     *
+     * @return Split threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Set the number of objects below which work is no longer split between threads
+     *
+     * @param threshold Split threshold
+     * @return This Collisions pass
+     */
+    public Collisions setThreshold(int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("Cannot set threshold below 1");
+        this.threshold = threshold;
+        return this;
+    }
+
+    /**
+     * Task detecting the contacts of a range of objects, split in half until it is small enough
+     */
+    private static class Task extends RecursiveAction {
+
+        /**
+         * Version of the serialized form, since RecursiveAction is Serializable
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Collisions pass the task belongs to
+         */
+        private final transient Collisions collisions;
+
+        /**
+         * Range of objects of the task
+         */
+        private final int from, to;
+
+        /**
+         * Create a new Task for a range of objects
+         *
+         * @param collisions Collisions pass the task belongs to
+         * @param from       Index of the first object
+         * @param to         Index after the last object
+         */
+        private Task(Collisions collisions, int from, int to) {
+            this.collisions = collisions;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Detect the contacts of the range of objects, or split it between two new tasks
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= collisions.threshold) {
+                collisions.detect(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(collisions, from, middle), new Task(collisions, middle, to));
+            }
+        }
+    }
+}
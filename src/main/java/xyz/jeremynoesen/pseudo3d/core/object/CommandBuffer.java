@@ -0,0 +1,122 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.Scene;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue of changes to a Scene that are applied at the start of its next tick instead of right away
+ * <br>
+ * Adding or removing Entities while the Scene is ticking, or from another thread, can break the lists being iterated.
+ * Queued commands are applied in the order they were queued in by the thread ticking the Scene, before anything else
+ * in the tick. Commands can be queued from any thread, and the queue is lock-free, so threads queueing commands never
+ * block the thread ticking the Scene or each other
+ *
+ * @author Jeremy Noesen
+ */
+public class CommandBuffer {
+
+    /**
+     * Scene the commands are applied to
+     */
+    private final Scene scene;
+
+    /**
+     * Commands waiting to be applied, in the order they were queued in
+     */
+    private final ConcurrentLinkedQueue<Runnable> commands;
+
+    /**
+     * Number of commands fully queued, which flush applies at most
+     */
+    private final AtomicInteger pending;
+
+    /**
+     * Create a new empty CommandBuffer for a Scene
+     *
+     * @param scene Scene to apply commands to
+     */
+    public CommandBuffer(Scene scene) {
+        this.scene = scene;
+        commands = new ConcurrentLinkedQueue<>();
+        pending = new AtomicInteger();
+    }
+
+    /**
+     * Queue Entities to be added to the Scene
+     *
+     * @param entity Entities to add
+     * @return This CommandBuffer
+     */
+    public CommandBuffer add(Entity... entity) {
+        Entity[] entities = entity.clone();
+        return run(() -> scene.addEntity(entities));
+    }
+
+    /**
+     * Queue Entities to be removed from the Scene
+     *
+     * @param entity Entities to remove
+     * @return This CommandBuffer
+     */
+    public CommandBuffer remove(Entity... entity) {
+        Entity[] entities = entity.clone();
+        return run(() -> scene.removeEntity(entities));
+    }
+
+    /**
+     * Queue a Runnable to be run by the thread ticking the Scene, such as to change several things at once
+     *
+     * @param command Runnable to run
+     * @return This CommandBuffer
+     */
+    public CommandBuffer run(Runnable command) {
+        commands.add(command);
+        pending.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Apply every queued command in the order they were queued in
+     * <br>
+     * This is called by the Scene at the start of every tick. Commands queued while flushing are left for the next
+     * flush, so a command that queues itself again does not run forever
+     */
+    public void flush() {
+        int count = pending.get();
+        for (int i = 0; i < count; i++) {
+            Runnable command = commands.poll();
+            pending.decrementAndGet();
+            command.run();
+        }
+    }
+
+    /**
+     * Drop every queued command without applying it
+     * <br>
+     * Like flush, this should only be called by the thread ticking the Scene
+     */
+    public void clear() {
+        int count = pending.getAndSet(0);
+        for (int i = 0; i < count; i++) commands.poll();
+    }
+
+    /**
+     * Check if there are no queued commands
+     *
+     * @return True if no commands are queued
+     */
+    public boolean isEmpty() {
+        return pending.get() == 0;
+    }
+
+    /**
+     * Get the number of queued commands
+     *
+     * @return Number of queued commands
+     */
+    public int size() {
+        return pending.get();
+    }
+}
@@ -0,0 +1,159 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Side;
+
+/**
+ * Contact between two Physics objects, kept by a ContactCache for as long as the objects touch
+ *
+ * @author Jeremy Noesen
+ */
+public class Contact {
+
+    /**
+     * Phase of a Contact in the most recent update of its ContactCache
+     */
+    public enum Phase {
+        /**
+         * The objects started touching
+         */
+        BEGIN,
+
+        /**
+         * The objects were already touching and still are
+         */
+        STAY,
+
+        /**
+         * The objects stopped touching
+         */
+        END
+    }
+
+    /**
+     * First object of the Contact
+     */
+    Physics first;
+
+    /**
+     * Second object of the Contact
+     */
+    Physics second;
+
+    /**
+     * Side of the first object the second object collides on, or null if the objects only overlap
+     */
+    Side side;
+
+    /**
+     * Side of the first object the second object collided on in the update before, or null if the objects only
+     * overlapped
+     */
+    Side previousSide;
+
+    /**
+     * Phase of the Contact
+     */
+    Phase phase;
+
+    /**
+     * Number of the ContactCache update the Contact was last found in
+     */
+    int update;
+
+    /**
+     * Number of the ContactCache update the Contact began in
+     */
+    int start;
+
+    /**
+     * Whether the Contact reports collision events instead of overlap events, updated whenever the objects switch
+     * between colliding and only overlapping
+     */
+    boolean collided;
+
+    /**
+     * Create a new empty Contact, filled in by its ContactCache
+     */
+    Contact() {
+        first = null;
+        second = null;
+        side = null;
+        previousSide = null;
+        phase = Phase.BEGIN;
+        update = 0;
+        start = 0;
+        collided = false;
+    }
+
+    /**
+     * Check if the Contact is between two objects, in either order
+     *
+     * @param first  First object
+     * @param second Second object
+     * @return True if the Contact is between the objects
+     */
+    boolean isBetween(Physics first, Physics second) {
+        return (this.first == first && this.second == second) || (this.first == second && this.second == first);
+    }
+
+    /**
+     * Get the first object of the Contact
+     *
+     * @return First object
+     */
+    public Physics getFirst() {
+        return first;
+    }
+
+    /**
+     * Get the second object of the Contact
+     *
+     * @return Second object
+     */
+    public Physics getSecond() {
+        return second;
+    }
+
+    /**
+     * Get the object of the Contact that is not the given object
+     *
+     * @param physics One of the objects of the Contact
+     * @return The other object, or null if the given object is not part of the Contact
+     */
+    public Physics getOther(Physics physics) {
+        if (physics == first) return second;
+        if (physics == second) return first;
+        return null;
+    }
+
+    /**
+     * Get the Side of an object of the Contact the other object collides on
+     *
+     * @param physics One of the objects of the Contact
+     * @return Side of the object, or null if the objects only overlap or the object is not part of the Contact
+     */
+    public Side getSide(Physics physics) {
+        if (side == null) return null;
+        if (physics == first) return side;
+        if (physics == second) return Side.getOpposite(side);
+        return null;
+    }
+
+    /**
+     * Check if the objects of the Contact collide instead of only overlapping
+     *
+     * @return True if the objects collide
+     */
+    public boolean isColliding() {
+        return side != null;
+    }
+
+    /**
+     * Get the phase of the Contact in the most recent update of its ContactCache
+     *
+     * @return Phase of the Contact
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+}
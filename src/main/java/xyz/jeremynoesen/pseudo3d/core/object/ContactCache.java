@@ -0,0 +1,462 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Side;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Contacts between pairs of Physics objects kept from one collision pass to the next, reporting when contacts begin,
+ * stay, and end
+ * <br>
+ * Contacts are stored in an open-addressing table keyed by their pair of objects, and recycled once they end, so
+ * contacts that stay from tick to tick only cost a lookup to keep up to date. Contacts are listed in the order they
+ * were found in, so the lists are the same on every run
+ * <br>
+ * Contacts that begin or end for Entities with CollisionListeners are queued as events, so a contact that begins and
+ * ends between two substeps is still reported. A contact whose objects switch between colliding and only overlapping,
+ * such as on a one-way platform, ends as one kind and begins as the other. The queue is only sent to the listeners
+ * when it is dispatched
+ *
+ * @author Jeremy Noesen
+ */
+public class ContactCache {
+
+    /**
+     * Number of slots the table starts with
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Sides in order, kept to avoid copying them on every update
+     */
+    private static final Side[] SIDES = Side.values();
+
+    /**
+     * Open-addressing table of the current Contacts
+     */
+    private Contact[] table;
+
+    /**
+     * Number of Contacts in the table
+     */
+    private int size;
+
+    /**
+     * Number of the current update
+     */
+    private int update;
+
+    /**
+     * Contacts that began in the most recent update
+     */
+    private final ArrayList<Contact> begun;
+
+    /**
+     * Contacts that ended in the most recent update
+     */
+    private final ArrayList<Contact> ended;
+
+    /**
+     * Contacts that began or stayed in the most recent update, in the order they were found
+     */
+    private ArrayList<Contact> current;
+
+    /**
+     * Contacts that began or stayed in the update before the most recent one
+     */
+    private ArrayList<Contact> previous;
+
+    /**
+     * Ended Contacts kept to be reused
+     */
+    private final ArrayList<Contact> spare;
+
+    /**
+     * Queued events, with events past the event count kept to be reused
+     */
+    private final ArrayList<Event> events;
+
+    /**
+     * Number of queued events
+     */
+    private int eventCount;
+
+    /**
+     * Number of the update events were last dispatched after
+     */
+    private int dispatched;
+
+    /**
+     * Create a new empty ContactCache
+     */
+    public ContactCache() {
+        table = new Contact[INITIAL_CAPACITY];
+        size = 0;
+        update = 0;
+        begun = new ArrayList<>();
+        ended = new ArrayList<>();
+        current = new ArrayList<>();
+        previous = new ArrayList<>();
+        spare = new ArrayList<>();
+        events = new ArrayList<>();
+        eventCount = 0;
+        dispatched = 0;
+    }
+
+    /**
+     * Update the Contacts from the collision data of the objects
+     * <br>
+     * This must be called after a collision pass, with the objects that checked for collisions. Contacts that ended in
+     * the previous update are reused, so they should not be kept past the next update
+     *
+     * @param objects Objects that checked for collisions
+     */
+    public void update(List<? extends Physics> objects) {
+        update++;
+        for (int i = 0; i < ended.size(); i++) recycle(ended.get(i));
+        begun.clear();
+        ended.clear();
+        ArrayList<Contact> list = previous;
+        previous = current;
+        current = list;
+        current.clear();
+
+        for (int k = 0; k < objects.size(); k++) {
+            Physics physics = objects.get(k);
+            for (Side side : SIDES) {
+                ArrayList<Physics> colliding = physics.getCollidingList(side);
+                for (int i = 0; i < colliding.size(); i++) find(physics, colliding.get(i), side);
+            }
+            ArrayList<Physics> overlapping = physics.getOverlappingList();
+            for (int i = 0; i < overlapping.size(); i++) find(physics, overlapping.get(i), null);
+        }
+
+        for (int i = 0; i < previous.size(); i++) {
+            Contact contact = previous.get(i);
+            if (contact.update == update) continue;
+            contact.phase = Contact.Phase.END;
+            ended.add(contact);
+            remove(contact);
+        }
+
+        for (int i = 0; i < begun.size(); i++) {
+            Contact contact = begun.get(i);
+            contact.collided = contact.side != null;
+            if (isListening(contact)) queue(contact);
+        }
+        for (int i = 0; i < current.size(); i++) {
+            Contact contact = current.get(i);
+            boolean collided = contact.side != null;
+            if (contact.phase != Contact.Phase.STAY || contact.collided == collided) continue;
+            if (isListening(contact)) {
+                queue(contact, contact.previousSide, Contact.Phase.END, contact.collided);
+                queue(contact, contact.side, Contact.Phase.BEGIN, collided);
+            }
+            contact.collided = collided;
+            contact.start = update;
+        }
+        for (int i = 0; i < ended.size(); i++) if (isListening(ended.get(i))) queue(ended.get(i));
+    }
+
+    /**
+     * Send the queued events to the CollisionListeners of the Entities, followed by a stay event for each collision
+     * that was already reported before the previous dispatch
+     * <br>
+     * This should be called once per tick, after the last update of the tick
+     */
+    public void dispatch() {
+        for (int i = 0; i < eventCount; i++) {
+            Event event = events.get(i);
+            Side opposite = event.side != null ? Side.getOpposite(event.side) : null;
+            notify(event.first, event.second, event.side, event.phase, event.collided);
+            notify(event.second, event.first, opposite, event.phase, event.collided);
+            event.first = null;
+            event.second = null;
+        }
+        eventCount = 0;
+
+        for (int i = 0; i < current.size(); i++) {
+            Contact contact = current.get(i);
+            if (contact.start > dispatched || !contact.collided || contact.side == null || !isListening(contact))
+                continue;
+            notify(contact.first, contact.second, contact.side, Contact.Phase.STAY, true);
+            notify(contact.second, contact.first, Side.getOpposite(contact.side), Contact.Phase.STAY, true);
+        }
+        dispatched = update;
+    }
+
+    /**
+     * Replace the Contacts with those found in the collision data of the objects, without reporting any of them as
+     * begun or ended
+     * <br>
+     * This is used after the state of the objects is restored, such as when rewinding a Scene
+     *
+     * @param objects Objects that checked for collisions
+     */
+    public void reset(List<? extends Physics> objects) {
+        clear();
+        update(objects);
+        for (int i = 0; i < current.size(); i++) current.get(i).phase = Contact.Phase.STAY;
+        begun.clear();
+        clearEvents();
+    }
+
+    /**
+     * Drop the queued events without dispatching them
+     */
+    private void clearEvents() {
+        for (int i = 0; i < eventCount; i++) {
+            events.get(i).first = null;
+            events.get(i).second = null;
+        }
+        eventCount = 0;
+        dispatched = update;
+    }
+
+    /**
+     * Check if either object of a Contact is an Entity with CollisionListeners
+     *
+     * @param contact Contact to check
+     * @return True if the Contact has to report events
+     */
+    private static boolean isListening(Contact contact) {
+        return (contact.first instanceof Entity && ((Entity) contact.first).hasCollisionListeners()) ||
+                (contact.second instanceof Entity && ((Entity) contact.second).hasCollisionListeners());
+    }
+
+    /**
+     * Queue an event for a Contact that began or ended, copying it since the Contact may be reused before dispatch
+     *
+     * @param contact Contact to queue an event for
+     */
+    private void queue(Contact contact) {
+        queue(contact, contact.side, contact.phase, contact.collided);
+    }
+
+    /**
+     * Queue an event for the objects of a Contact
+     *
+     * @param contact  Contact to queue an event for
+     * @param side     Side of the first object the second object collides on, or null if they only overlap
+     * @param phase    Phase of the event
+     * @param collided Whether the event is for a collision instead of an overlap
+     */
+    private void queue(Contact contact, Side side, Contact.Phase phase, boolean collided) {
+        if (eventCount == events.size()) events.add(new Event());
+        Event event = events.get(eventCount++);
+        event.first = contact.first;
+        event.second = contact.second;
+        event.side = side;
+        event.phase = phase;
+        event.collided = collided;
+    }
+
+    /**
+     * Send an event to the CollisionListeners of an object, if it is an Entity
+     *
+     * @param physics  Object to notify
+     * @param other    Other object of the event
+     * @param side     Side of the object the other object collides on, or null if they only overlap
+     * @param phase    Phase of the event
+     * @param collided Whether the event is for a collision instead of an overlap
+     */
+    private static void notify(Physics physics, Physics other, Side side, Contact.Phase phase, boolean collided) {
+        if (!(physics instanceof Entity) || !((Entity) physics).hasCollisionListeners()) return;
+        for (CollisionListener listener : ((Entity) physics).getCollisionListeners()) {
+            if (collided) {
+                if (phase == Contact.Phase.BEGIN) listener.onCollisionEnter(other, side);
+                else if (phase == Contact.Phase.STAY) listener.onCollisionStay(other, side);
+                else listener.onCollisionExit(other, side);
+            } else {
+                if (phase == Contact.Phase.BEGIN) listener.onOverlapEnter(other);
+                else if (phase == Contact.Phase.END) listener.onOverlapExit(other);
+            }
+        }
+    }
+
+    /**
+     * Mark the Contact between two objects as found in this update, creating it if they were not touching before
+     *
+     * @param physics Object reporting the Contact
+     * @param other   Object it touches
+     * @param side    Side of the reporting object the other object collides on, or null if they only overlap
+     */
+    private void find(Physics physics, Physics other, Side side) {
+        int mask = table.length - 1;
+        int index = slot(physics, other) & mask;
+        Contact contact;
+        while ((contact = table[index]) != null && !contact.isBetween(physics, other)) index = (index + 1) & mask;
+
+        if (contact == null) {
+            contact = spare.isEmpty() ? new Contact() : spare.remove(spare.size() - 1);
+            contact.first = physics;
+            contact.second = other;
+            contact.side = side;
+            contact.phase = Contact.Phase.BEGIN;
+            contact.update = update;
+            contact.start = update;
+            table[index] = contact;
+            begun.add(contact);
+            current.add(contact);
+            if (++size * 2 > table.length) resize(table.length * 2);
+            return;
+        }
+
+        if (contact.update != update) {
+            contact.update = update;
+            contact.phase = Contact.Phase.STAY;
+            contact.previousSide = contact.side;
+            contact.side = null;
+            current.add(contact);
+        }
+        if (side != null) contact.side = contact.first == physics ? side : Side.getOpposite(side);
+    }
+
+    /**
+     * Remove a Contact from the table, shifting back the Contacts after it so lookups still find them
+     *
+     * @param contact Contact to remove
+     */
+    private void remove(Contact contact) {
+        int mask = table.length - 1;
+        int index = slot(contact.first, contact.second) & mask;
+        while (table[index] != contact) index = (index + 1) & mask;
+        table[index] = null;
+        size--;
+
+        int next = (index + 1) & mask;
+        while (table[next] != null) {
+            int home = slot(table[next].first, table[next].second) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                table[index] = table[next];
+                table[next] = null;
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    /**
+     * Clear a Contact that ended and keep it to be reused
+     *
+     * @param contact Contact to recycle
+     */
+    private void recycle(Contact contact) {
+        contact.first = null;
+        contact.second = null;
+        contact.side = null;
+        contact.previousSide = null;
+        contact.collided = false;
+        spare.add(contact);
+    }
+
+    /**
+     * Move the Contacts into a table with a different number of slots
+     *
+     * @param capacity Number of slots, which must be a power of two
+     */
+    private void resize(int capacity) {
+        Contact[] old = table;
+        table = new Contact[capacity];
+        int mask = capacity - 1;
+        for (Contact contact : old) {
+            if (contact == null) continue;
+            int index = slot(contact.first, contact.second) & mask;
+            while (table[index] != null) index = (index + 1) & mask;
+            table[index] = contact;
+        }
+    }
+
+    /**
+     * Get the hash of a pair of objects, which is the same in either order
+     *
+     * @param first  First object
+     * @param second Second object
+     * @return Hash of the pair
+     */
+    private static int slot(Physics first, Physics second) {
+        int hash = System.identityHashCode(first) ^ System.identityHashCode(second);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Get the Contacts that began in the most recent update
+     *
+     * @return List of Contacts that began
+     */
+    public List<Contact> getBegun() {
+        return Collections.unmodifiableList(begun);
+    }
+
+    /**
+     * Get the Contacts that ended in the most recent update
+     *
+     * @return List of Contacts that ended
+     */
+    public List<Contact> getEnded() {
+        return Collections.unmodifiableList(ended);
+    }
+
+    /**
+     * Get the Contacts that began or stayed in the most recent update
+     *
+     * @return List of current Contacts
+     */
+    public List<Contact> getContacts() {
+        return Collections.unmodifiableList(current);
+    }
+
+    /**
+     * Get the number of current Contacts
+     *
+     * @return Number of Contacts
+     */
+    public int getContactCount() {
+        return size;
+    }
+
+    /**
+     * Remove all Contacts without reporting them as ended
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) recycle(table[i]);
+            table[i] = null;
+        }
+        for (int i = 0; i < ended.size(); i++) recycle(ended.get(i));
+        clearEvents();
+        size = 0;
+        begun.clear();
+        ended.clear();
+        current.clear();
+        previous.clear();
+    }
+
+    /**
+     * Event queued for a Contact that began or ended
+     */
+    private static class Event {
+
+        /**
+         * Objects of the Contact
+         */
+        private Physics first, second;
+
+        /**
+         * Side of the first object the second object collides on, or null if the objects only overlap
+         */
+        private Side side;
+
+        /**
+         * Phase of the Contact when the event was queued
+         */
+        private Contact.Phase phase;
+
+        /**
+         * Whether the event is for a collision instead of an overlap
+         */
+        private boolean collided;
+    }
+}
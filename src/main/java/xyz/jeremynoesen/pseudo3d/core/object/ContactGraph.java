@@ -0,0 +1,163 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Side;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Graph of the contacts found in the most recent collision pass, used to cache the mass of the stack on each Side of
+ * every moving Physics object before a motion pass
+ * <br>
+ * Stack masses are calculated once per object and Side by adding up the cached masses of the objects stacked directly
+ * on it, so a stack of objects is only walked once instead of once for each object in it. Stacks where an object rests
+ * on more than one other object are searched the same way friction did before, since adding up the masses would count
+ * that object more than once
+ *
+ * @author Jeremy Noesen
+ */
+class ContactGraph {
+
+    /**
+     * Sides in order, kept to avoid copying them on every update
+     */
+    private static final Side[] SIDES = Side.values();
+
+    /**
+     * Objects waiting to have their stack mass calculated, in depth-first order
+     */
+    private final ArrayList<Physics> pending;
+
+    /**
+     * Whether the objects stacked on each pending object have been added after it
+     */
+    private boolean[] expanded;
+
+    /**
+     * Number of the current update, used to find cached values from previous updates
+     */
+    private int update;
+
+    /**
+     * Create a new empty ContactGraph
+     */
+    ContactGraph() {
+        pending = new ArrayList<>();
+        expanded = new boolean[0];
+        update = 0;
+    }
+
+    /**
+     * Cache the stack masses the objects will need for friction in the coming motion pass
+     * <br>
+     * This must be called after the objects prepared their motion and before any of them tick
+     *
+     * @param objects Objects of the motion pass
+     * @param size    Number of objects
+     */
+    void update(Physics[] objects, int size) {
+        update++;
+        for (int i = 0; i < size; i++) {
+            Physics physics = objects[i];
+            if (!physics.isMoving()) continue;
+            int sides = physics.getCollidingMask(), axes = physics.getKinematicMask();
+            for (Side side : SIDES) {
+                if ((sides & Physics.mask(side)) != 0 && (axes & Physics.mask(Side.getNormalAxis(side))) != 0)
+                    cache(physics, Side.getOpposite(side));
+            }
+        }
+    }
+
+    /**
+     * Cache the stack mass on a Side of an object and of every object stacked on it
+     *
+     * @param root Object at the bottom of the stack
+     * @param side Side of the objects the stack rests on
+     */
+    private void cache(Physics root, Side side) {
+        int bit = Physics.mask(side), axis = Physics.mask(Side.getNormalAxis(side));
+        refresh(root);
+        if ((root.stackVisits & bit) != 0) return;
+        push(root, bit);
+
+        while (!pending.isEmpty()) {
+            int top = pending.size() - 1;
+            Physics physics = pending.get(top);
+            ArrayList<Physics> stacked = physics.getCollidingList(side);
+
+            if (!expanded[top]) {
+                expanded[top] = true;
+                for (int i = 0; i < stacked.size(); i++) {
+                    Physics object = stacked.get(i);
+                    if (!object.isStackable(axis)) continue;
+                    refresh(object);
+                    if ((object.stackVisits & bit) == 0) push(object, bit);
+                }
+                continue;
+            }
+
+            pending.remove(top);
+            float mass = physics.getMass();
+            boolean tree = true;
+            for (int i = 0; i < stacked.size() && tree; i++) {
+                Physics object = stacked.get(i);
+                if (!object.isStackable(axis)) continue;
+                tree = (object.stackTrees & bit) != 0 && restsOnlyOn(object, physics, side, axis);
+                mass += object.stackMass[side.ordinal()];
+            }
+            if (tree) {
+                physics.stackMass[side.ordinal()] = mass;
+                physics.stackTrees |= bit;
+            } else {
+                physics.stackMass[side.ordinal()] = physics.getStackMass(Side.getOpposite(side));
+            }
+            physics.stackSides |= bit;
+        }
+    }
+
+    /**
+     * Check if an object in a stack rests on a single object
+     *
+     * @param object  Object in the stack
+     * @param support Object it should only rest on
+     * @param side    Side of the supporting objects the stack rests on
+     * @param axis    Bitmask of the Axis the stack moves on
+     * @return True if the support is the only object in the stack the object rests on
+     */
+    private boolean restsOnlyOn(Physics object, Physics support, Side side, int axis) {
+        ArrayList<Physics> supports = object.getCollidingList(Side.getOpposite(side));
+        boolean found = false;
+        for (int i = 0; i < supports.size(); i++) {
+            Physics physics = supports.get(i);
+            if (physics == support) found = true;
+            else if (physics.isStackable(axis)) return false;
+        }
+        return found;
+    }
+
+    /**
+     * Add an object to the pending objects and mark it as visited on a Side
+     *
+     * @param physics Object to add
+     * @param bit     Bitmask of the Side
+     */
+    private void push(Physics physics, int bit) {
+        physics.stackVisits |= bit;
+        if (expanded.length == pending.size()) expanded = Arrays.copyOf(expanded, Math.max(16, expanded.length * 2));
+        expanded[pending.size()] = false;
+        pending.add(physics);
+    }
+
+    /**
+     * Forget the values an object has cached in previous updates
+     *
+     * @param physics Object to refresh
+     */
+    private void refresh(Physics physics) {
+        if (physics.stackUpdate == update) return;
+        physics.stackUpdate = update;
+        physics.stackSides = 0;
+        physics.stackTrees = 0;
+        physics.stackVisits = 0;
+    }
+}
@@ -3,6 +3,9 @@ package xyz.jeremynoesen.pseudo3d.core.object;
 import xyz.jeremynoesen.pseudo3d.core.Scene;
 import xyz.jeremynoesen.pseudo3d.core.graphics.Sprite;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 
 /**
@@ -52,6 +55,21 @@ public class Entity extends Physics {
      */
     boolean physics;
 
+    /**
+     * Listeners told when other objects start, keep, and stop colliding with or overlapping the Entity
+     */
+    private LinkedHashSet<CollisionListener> collisionListeners;
+
+    /**
+     * Whether the Entity is waiting in an EntityPool to be handed out again
+     */
+    boolean pooled;
+
+    /**
+     * Id of the Entity in the EntityList of its Scene, or -1 if it is not in one
+     */
+    int id;
+
     /**
      * Create a new default Entity
      */
@@ -65,6 +83,8 @@ public class Entity extends Physics {
         enabled = true;
         visible = true;
         physics = true;
+        collisionListeners = new LinkedHashSet<>();
+        id = -1;
     }
 
     /**
@@ -82,6 +102,32 @@ public class Entity extends Physics {
         this.enabled = entity.enabled;
         this.visible = entity.visible;
         this.physics = entity.physics;
+        this.collisionListeners = new LinkedHashSet<>(entity.collisionListeners);
+        this.id = -1;
+    }
+
+    /**
+     * Make this Entity a copy of another Entity in place, reusing its Physics lists and Sprite
+     * <br>
+     * This is used by EntityPools to recycle Entities. The Scene of this Entity is kept, and its contacts are cleared
+     *
+     * @param entity Entity to copy
+     */
+    void reset(Entity entity) {
+        super.reset(entity);
+        if (entity.sprite == null) sprite = null;
+        else if (sprite == null || sprite == entity.sprite) sprite = new Sprite(entity.sprite);
+        else sprite.set(entity.sprite);
+        onScreen = entity.onScreen;
+        updateOffScreen = entity.updateOffScreen;
+        speed = entity.speed;
+        enabled = entity.enabled;
+        visible = entity.visible;
+        physics = entity.physics;
+        if (!collisionListeners.equals(entity.collisionListeners)) {
+            collisionListeners.clear();
+            collisionListeners.addAll(entity.collisionListeners);
+        }
     }
 
     /**
@@ -155,9 +201,9 @@ public class Entity extends Physics {
      */
     public Entity setScene(Scene scene) {
         if (scene != null) {
-            super.setSceneObjects(scene.getEntities());
+            super.setBroadPhase(scene.getBroadPhase());
         } else {
-            super.setSceneObjects(null);
+            super.setBroadPhase(null);
         }
         this.scene = scene;
         return this;
@@ -172,6 +218,17 @@ public class Entity extends Physics {
         return scene;
     }
 
+    /**
+     * Get the id of the Entity in its Scene, which stays the same until it is removed from the Scene
+     * <br>
+     * Ids of removed Entities are given to Entities added later
+     *
+     * @return Id of the Entity, or -1 if it is not in a Scene
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Get the speed modifier of the Entity for physics and rendering
      *
@@ -193,13 +250,13 @@ public class Entity extends Physics {
     }
 
     /**
-     * Update the motion of the Entity
+     * Get the scale applied to the time elapsed in each tick, which is the speed modifier of the Entity
      *
-     * @param deltaTime Time elapsed of the previous tick
+     * @return Speed modifier value
      */
     @Override
-    public void tickMotion(float deltaTime) {
-        super.tickMotion(deltaTime * speed);
+    protected float getTimeScale() {
+        return speed;
     }
 
     /**
@@ -263,6 +320,125 @@ public class Entity extends Physics {
         return this;
     }
 
+    /**
+     * Add CollisionListeners to the Entity, which are told about contacts once per tick of its Scene
+     *
+     * @param listener CollisionListeners to add
+     * @return This Entity
+     */
+    public Entity addCollisionListener(CollisionListener... listener) {
+        collisionListeners.addAll(Arrays.asList(listener));
+        return this;
+    }
+
+    /**
+     * Remove CollisionListeners from the Entity
+     *
+     * @param listener CollisionListeners to remove
+     * @return This Entity
+     */
+    public Entity removeCollisionListener(CollisionListener... listener) {
+        Arrays.asList(listener).forEach(collisionListeners::remove);
+        return this;
+    }
+
+    /**
+     * Get the CollisionListeners of the Entity, in the order they were added in
+     *
+     * @return Set of CollisionListeners
+     */
+    public LinkedHashSet<CollisionListener> getCollisionListeners() {
+        return collisionListeners;
+    }
+
+    /**
+     * Check if the Entity has any CollisionListeners
+     *
+     * @return True if the Entity has CollisionListeners
+     */
+    public boolean hasCollisionListeners() {
+        return !collisionListeners.isEmpty();
+    }
+
+    /**
+     * Get the number of bytes writeSettings needs for the settings of the Entity
+     *
+     * @return Size of the settings in bytes
+     */
+    @Override
+    int getSettingsSize() {
+        return super.getSettingsSize() + Float.BYTES + 4;
+    }
+
+    /**
+     * Write the settings of the Entity into a buffer, leaving out its Sprite and Scene
+     *
+     * @param buffer Buffer to write to, with room for the settings
+     */
+    @Override
+    void writeSettings(ByteBuffer buffer) {
+        super.writeSettings(buffer);
+        buffer.putFloat(speed);
+        buffer.put((byte) (enabled ? 1 : 0)).put((byte) (visible ? 1 : 0)).put((byte) (physics ? 1 : 0));
+        buffer.put((byte) (updateOffScreen ? 1 : 0));
+    }
+
+    /**
+     * Read the settings written by writeSettings back into the Entity
+     *
+     * @param buffer Buffer to read from
+     */
+    @Override
+    void readSettings(ByteBuffer buffer) {
+        super.readSettings(buffer);
+        speed = buffer.getFloat();
+        enabled = buffer.get() != 0;
+        visible = buffer.get() != 0;
+        physics = buffer.get() != 0;
+        updateOffScreen = buffer.get() != 0;
+        setUpdatable(enabled && physics);
+    }
+
+    /**
+     * Get the number of bytes writeState needs for the current state of the Entity
+     *
+     * @return Size of the state in bytes
+     */
+    @Override
+    int getStateSize() {
+        return super.getStateSize() + 2 + Float.BYTES;
+    }
+
+    /**
+     * Write the state that changes as the Entity ticks into a buffer, including the animation state of its Sprite
+     *
+     * @param buffer  Buffer to write to, with room for the state
+     * @param objects Objects being written, each at the index of its order
+     * @param count   Number of objects being written
+     */
+    @Override
+    void writeState(ByteBuffer buffer, Physics[] objects, int count) {
+        super.writeState(buffer, objects, count);
+        buffer.put((byte) (sprite != null ? 1 : 0));
+        buffer.putFloat(sprite != null ? sprite.getCurrentFrame() : 0);
+        buffer.put((byte) (sprite != null && sprite.isPaused() ? 1 : 0));
+    }
+
+    /**
+     * Read the state written by writeState back into the Entity, without waking it
+     *
+     * @param buffer  Buffer to read from
+     * @param objects Objects that were written, each at the index it was written as
+     */
+    @Override
+    void readState(ByteBuffer buffer, Physics[] objects) {
+        super.readState(buffer, objects);
+        boolean animated = buffer.get() != 0;
+        float frame = buffer.getFloat();
+        boolean paused = buffer.get() != 0;
+        if (animated && sprite != null) sprite.setCurrentFrame(frame).setPaused(paused);
+    }
+
     /**
      * Check if this Entity is identical to another
      *
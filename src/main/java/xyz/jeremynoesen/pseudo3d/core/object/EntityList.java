@@ -0,0 +1,234 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+/**
+ * Dense array-backed list of the Entities in a Scene, with a stable id for every Entity
+ * <br>
+ * Every Entity added gets an id that stays the same until it is removed, and an index from ids to slots in the array
+ * lets Entities be found, checked for, and removed in constant time. Removing an Entity moves the last Entity into its
+ * slot, so the order only depends on the order Entities were added and removed in, and is the same on every run. Ids
+ * of removed Entities are reused
+ * <br>
+ * An Entity can only be in one EntityList at a time, and Entities are compared by identity
+ *
+ * @author Jeremy Noesen
+ */
+public class EntityList extends AbstractList<Entity> implements RandomAccess {
+
+    /**
+     * Number of Entities the arrays have room for when first created
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Entities in the list, in order
+     */
+    private Entity[] entities;
+
+    /**
+     * Number of Entities in the list
+     */
+    private int size;
+
+    /**
+     * Slot of the Entity with each id, or -1 if the id is not in use
+     */
+    private int[] slots;
+
+    /**
+     * Ids of removed Entities, waiting to be reused
+     */
+    private int[] freeIds;
+
+    /**
+     * Number of ids waiting to be reused
+     */
+    private int freeCount;
+
+    /**
+     * Lowest id never given out
+     */
+    private int nextId;
+
+    /**
+     * Create a new empty EntityList
+     */
+    public EntityList() {
+        entities = new Entity[INITIAL_CAPACITY];
+        slots = new int[INITIAL_CAPACITY];
+        freeIds = new int[INITIAL_CAPACITY];
+        size = 0;
+        freeCount = 0;
+        nextId = 0;
+    }
+
+    /**
+     * Create a new EntityList holding Entities, in the order they are given in
+     *
+     * @param entities Entities to add
+     */
+    public EntityList(Collection<? extends Entity> entities) {
+        this();
+        for (Entity entity : entities) add(entity);
+    }
+
+    /**
+     * Get the Entity in a slot of the list
+     *
+     * @param index Slot of the Entity
+     * @return Entity in the slot
+     */
+    @Override
+    public Entity get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Cannot get index " + index + " of " + size + " Entities");
+        return entities[index];
+    }
+
+    /**
+     * Get the Entity with an id
+     *
+     * @param id Id of the Entity
+     * @return Entity with the id, or null if no Entity has it
+     */
+    public Entity getById(int id) {
+        if (id < 0 || id >= nextId || slots[id] < 0) return null;
+        return entities[slots[id]];
+    }
+
+    /**
+     * Get the number of Entities in the list
+     *
+     * @return Number of Entities
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add an Entity to the end of the list and give it an id, unless it is already in the list
+     *
+     * @param entity Entity to add
+     * @return True if the Entity was added
+     */
+    @Override
+    public boolean add(Entity entity) {
+        if (contains(entity)) return false;
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = nextId++;
+            if (id == slots.length) slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        if (size == entities.length) entities = Arrays.copyOf(entities, entities.length * 2);
+        slots[id] = size;
+        entities[size++] = entity;
+        entity.id = id;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Remove an Entity from the list, moving the last Entity into its slot
+     *
+     * @param o Entity to remove
+     * @return True if the Entity was in the list
+     */
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Remove the Entity in a slot of the list, moving the last Entity into the slot
+     *
+     * @param index Slot of the Entity
+     * @return Entity removed
+     */
+    @Override
+    public Entity remove(int index) {
+        Entity entity = get(index);
+        Entity last = entities[--size];
+        entities[index] = last;
+        slots[last.id] = index;
+        entities[size] = null;
+        slots[entity.id] = -1;
+        if (freeCount == freeIds.length) freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        freeIds[freeCount++] = entity.id;
+        entity.id = -1;
+        modCount++;
+        return entity;
+    }
+
+    /**
+     * Check if an Entity is in the list
+     *
+     * @param o Entity to check
+     * @return True if the Entity is in the list
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Get the slot of an Entity in the list
+     *
+     * @param o Entity to find
+     * @return Slot of the Entity, or -1 if it is not in the list
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Entity)) return -1;
+        Entity entity = (Entity) o;
+        if (entity.id < 0 || entity.id >= nextId) return -1;
+        int slot = slots[entity.id];
+        return slot >= 0 && entities[slot] == entity ? slot : -1;
+    }
+
+    /**
+     * Get the slot of an Entity in the list, which is the only slot it can be in
+     *
+     * @param o Entity to find
+     * @return Slot of the Entity, or -1 if it is not in the list
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Sort the Entities, keeping their ids
+     *
+     * @param c Comparator to sort by
+     */
+    @Override
+    public void sort(Comparator<? super Entity> c) {
+        Arrays.sort(entities, 0, size, c);
+        for (int i = 0; i < size; i++) slots[entities[i].id] = i;
+        modCount++;
+    }
+
+    /**
+     * Remove every Entity from the list, freeing every id
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) entities[i].id = -1;
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+        freeCount = 0;
+        nextId = 0;
+        modCount++;
+    }
+}
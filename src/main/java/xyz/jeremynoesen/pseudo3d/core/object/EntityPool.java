@@ -0,0 +1,199 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import java.util.Arrays;
+
+/**
+ * Pool of Entities copied from a template, used to spawn and despawn many short-lived Entities without creating new
+ * ones each time
+ * <br>
+ * Entities handed out are reset in place to match the template, reusing their Physics lists and Sprite, so an Entity
+ * only has to be created when the pool is empty. Released Entities are removed from their Scene and kept until they
+ * are handed out again
+ *
+ * @author Jeremy Noesen
+ */
+public class EntityPool {
+
+    /**
+     * Entity every Entity handed out is copied from
+     */
+    private Entity template;
+
+    /**
+     * Entities waiting to be handed out
+     */
+    private Entity[] free;
+
+    /**
+     * Number of Entities waiting to be handed out
+     */
+    private int count;
+
+    /**
+     * Maximum number of Entities kept in the pool
+     */
+    private int capacity;
+
+    /**
+     * Create a new empty EntityPool with no limit on the Entities it keeps
+     *
+     * @param template Entity to copy
+     */
+    public EntityPool(Entity template) {
+        this(template, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a new EntityPool filled with copies of a template
+     *
+     * @param template Entity to copy
+     * @param size     Number of copies to create now
+     * @param capacity Maximum number of Entities to keep, with any released past this left for the garbage collector
+     */
+    public EntityPool(Entity template, int size, int capacity) {
+        if (size < 0)
+            throw new IllegalArgumentException("Cannot set size below 0");
+        if (capacity < size)
+            throw new IllegalArgumentException("Cannot set capacity below size");
+        this.template = template;
+        this.capacity = capacity;
+        free = new Entity[Math.max(size, 16)];
+        count = 0;
+        fill(size);
+    }
+
+    /**
+     * Hand out an Entity matching the template, creating one if the pool is empty
+     * <br>
+     * The Entity is not in a Scene, and has no contacts
+     *
+     * @return Entity matching the template
+     */
+    public Entity acquire() {
+        if (count == 0) return create();
+        Entity entity = free[--count];
+        free[count] = null;
+        entity.pooled = false;
+        entity.reset(template);
+        return entity;
+    }
+
+    /**
+     * Give Entities back to the pool, removing them from their Scenes
+     * <br>
+     * Released Entities must not be used again until they are handed out again
+     *
+     * @param entity Entities to release
+     * @return This EntityPool
+     */
+    public EntityPool release(Entity... entity) {
+        for (Entity e : entity) {
+            if (e.pooled)
+                throw new IllegalArgumentException("Cannot release an Entity that is already in the pool");
+            if (e.getScene() != null) e.getScene().removeEntity(e);
+            if (count == capacity) continue;
+            if (count == free.length) free = Arrays.copyOf(free, (int) Math.min((long) count * 2, capacity));
+            e.pooled = true;
+            free[count++] = e;
+        }
+        return this;
+    }
+
+    /**
+     * Create copies of the template until the pool holds a number of Entities
+     *
+     * @param size Number of Entities for the pool to hold, up to its capacity
+     * @return This EntityPool
+     */
+    public EntityPool fill(int size) {
+        size = Math.min(size, capacity);
+        if (free.length < size) free = Arrays.copyOf(free, size);
+        while (count < size) {
+            Entity entity = create();
+            entity.pooled = true;
+            free[count++] = entity;
+        }
+        return this;
+    }
+
+    /**
+     * Create a new copy of the template, outside of any Scene and without the contacts of the template
+     *
+     * @return New Entity
+     */
+    private Entity create() {
+        Entity entity = new Entity(template);
+        entity.setScene(null);
+        entity.reset(template);
+        return entity;
+    }
+
+    /**
+     * Let go of every Entity in the pool
+     *
+     * @return This EntityPool
+     */
+    public EntityPool clear() {
+        for (int i = 0; i < count; i++) free[i].pooled = false;
+        Arrays.fill(free, 0, count, null);
+        count = 0;
+        return this;
+    }
+
+    /**
+     * Get the Entity every Entity handed out is copied from
+     *
+     * @return Template Entity
+     */
+    public Entity getTemplate() {
+        return template;
+    }
+
+    /**
+     * Set the Entity every Entity handed out is copied from
+     * <br>
+     * Entities already in the pool are reset to the new template when they are handed out
+     *
+     * @param template New template Entity
+     * @return This EntityPool
+     */
+    public EntityPool setTemplate(Entity template) {
+        this.template = template;
+        return this;
+    }
+
+    /**
+     * Get the number of Entities waiting to be handed out
+     *
+     * @return Number of Entities in the pool
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Get the maximum number of Entities kept in the pool
+     *
+     * @return Capacity of the pool
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Set the maximum number of Entities kept in the pool, letting go of any past it
+     *
+     * @param capacity New capacity
+     * @return This EntityPool
+     */
+    public EntityPool setCapacity(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Cannot set capacity below 0");
+        this.capacity = capacity;
+        while (count > capacity) {
+            free[--count].pooled = false;
+            free[count] = null;
+        }
+        return this;
+    }
+}
@@ -0,0 +1,238 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Groups of Physics objects touching each other, which fall asleep together once all of them have been at rest for
+ * long enough
+ * <br>
+ * Sleeping objects skip motion and collision updates until they are touched by an awake object or changed through
+ * their setters, which wakes their whole island. Sleeping is off by default, and is turned on by setting the number of
+ * ticks an island must be at rest for
+ *
+ * @author Jeremy Noesen
+ */
+public class Islands {
+
+    /**
+     * Default speed and acceleration below which an object is at rest
+     */
+    private static final float DEFAULT_THRESHOLD = 0.01f;
+
+    /**
+     * Default number of ticks an island must be at rest before falling asleep, 0 so objects never sleep unless enabled
+     */
+    private static final int DEFAULT_TICKS = 0;
+
+    /**
+     * Speed and acceleration below which an object is at rest
+     */
+    private float threshold;
+
+    /**
+     * Number of ticks an island must be at rest before falling asleep, or 0 to never sleep
+     */
+    private int ticks;
+
+    /**
+     * Objects of the current update indexed by their position in the collision order
+     */
+    private Physics[] members;
+
+    /**
+     * Union-find parent of each object, or -1 for objects that are not part of an island
+     */
+    private int[] parents;
+
+    /**
+     * Whether every object in the island rooted at each index is at rest
+     */
+    private boolean[] calm;
+
+    /**
+     * Number of islands found in the most recent update
+     */
+    private int islandCount;
+
+    /**
+     * Number of objects asleep after the most recent update
+     */
+    private int sleepingCount;
+
+    /**
+     * Create new Islands with the default threshold and number of ticks, which never let objects sleep
+     */
+    public Islands() {
+        threshold = DEFAULT_THRESHOLD;
+        ticks = DEFAULT_TICKS;
+        members = new Physics[0];
+        parents = new int[0];
+        calm = new boolean[0];
+        islandCount = 0;
+        sleepingCount = 0;
+    }
+
+    /**
+     * Group the awake objects into islands and put islands to sleep that have been at rest for long enough
+     * <br>
+     * This must be called after a collision pass, with the same objects the BroadPhase was prepared with
+     *
+     * @param objects Objects in the order they were ticked in
+     */
+    public void update(List<? extends Physics> objects) {
+        islandCount = 0;
+        sleepingCount = 0;
+        if (ticks == 0) {
+            for (int k = 0; k < objects.size(); k++) if (objects.get(k).sleeping) objects.get(k).wake();
+            return;
+        }
+
+        int size = objects.size();
+        if (members.length < size) {
+            members = new Physics[size];
+            parents = new int[size];
+            calm = new boolean[size];
+        }
+
+        for (int k = 0; k < size; k++) {
+            Physics physics = objects.get(k);
+            int i = physics.order;
+            members[i] = physics;
+            if (physics.sleeping) sleepingCount++;
+            if (physics.sleeping || physics.isStatic() || !physics.isUpdatable()) {
+                parents[i] = -1;
+                continue;
+            }
+            parents[i] = i;
+            boolean resting = Float.compare(physics.getVelocityMagnitude(), threshold) <= 0 &&
+                    Float.compare(physics.getAcceleration().getMagnitude(), threshold) <= 0;
+            physics.calmTicks = resting ? Math.min(physics.calmTicks + 1, ticks) : 0;
+            calm[i] = true;
+        }
+
+        for (int k = 0; k < size; k++) {
+            Physics physics = objects.get(k);
+            int i = physics.order;
+            if (parents[i] < 0) continue;
+            for (int s = 0; s < physics.collidingObjects.size(); s++) {
+                ArrayList<Physics> colliding = physics.collidingObjects.get(s);
+                for (int c = 0; c < colliding.size(); c++) {
+                    Physics other = colliding.get(c);
+                    int j = other.order;
+                    if (j >= 0 && j < size && members[j] == other && parents[j] >= 0) union(i, j);
+                }
+            }
+        }
+
+        for (int k = 0; k < size; k++) {
+            Physics physics = objects.get(k);
+            int i = physics.order;
+            if (parents[i] < 0) continue;
+            int root = find(i);
+            if (root == i) islandCount++;
+            if (physics.calmTicks < ticks) calm[root] = false;
+        }
+
+        for (int k = 0; k < size; k++) {
+            Physics physics = objects.get(k);
+            int i = physics.order;
+            if (parents[i] >= 0 && calm[find(i)]) {
+                physics.sleeping = true;
+                sleepingCount++;
+            }
+        }
+
+        for (int i = 0; i < size; i++) members[i] = null;
+    }
+
+    /**
+     * Find the root of the island an object is in, flattening the path on the way
+     *
+     * @param i Index of the object
+     * @return Index of the root object of the island
+     */
+    private int find(int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    /**
+     * Merge the islands of two objects
+     *
+     * @param i Index of the first object
+     * @param j Index of the second object
+     */
+    private void union(int i, int j) {
+        int a = find(i), b = find(j);
+        if (a != b) parents[Math.max(a, b)] = Math.min(a, b);
+    }
+
+    /**
+     * Get the speed and acceleration below which an object is at rest
+     *
+     * @return Threshold in meters / second and meters / second ^ 2
+     */
+    public float getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Set the speed and acceleration below which an object is at rest
+     *
+     * @param threshold Threshold in meters / second and meters / second ^ 2
+     * @return These Islands
+     */
+    public Islands setThreshold(float threshold) {
+        if (Float.compare(threshold, 0) < 0)
+            throw new IllegalArgumentException("Cannot set threshold below 0");
+        this.threshold = threshold;
+        return this;
+    }
+
+    /**
+     * Get the number of ticks an island must be at rest before falling asleep
+     *
+     * @return Number of ticks, or 0 if objects never sleep
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Set the number of ticks an island must be at rest before falling asleep
+     * <br>
+     * Set to 0 to never let objects sleep, which is the default. A second of ticks, such as 60 at 60 ticks per second,
+     * keeps objects that are only slowing down for a moment awake
+     *
+     * @param ticks Number of ticks
+     * @return These Islands
+     */
+    public Islands setTicks(int ticks) {
+        if (ticks < 0)
+            throw new IllegalArgumentException("Cannot set ticks below 0");
+        this.ticks = ticks;
+        return this;
+    }
+
+    /**
+     * Get the number of islands of awake objects found in the most recent update
+     *
+     * @return Number of islands
+     */
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    /**
+     * Get the number of objects asleep after the most recent update
+     *
+     * @return Number of sleeping objects
+     */
+    public int getSleepingCount() {
+        return sleepingCount;
+    }
+}
@@ -0,0 +1,309 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Axis;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Motion pass of a Scene, which updates the motion of every Physics object either serially or in parallel on a
+ * ForkJoinPool
+ * <br>
+ * Objects only read each other as they were when the pass started, and momentum transferred between objects is applied
+ * in order once every object has ticked, so both ways give exactly the same results
+ *
+ * @author Jeremy Noesen
+ */
+public class Motion {
+
+    /**
+     * Number of objects below which a task is no longer split
+     */
+    private static final int DEFAULT_THRESHOLD = 256;
+
+    /**
+     * Axes in order, kept to avoid copying them on every tick
+     */
+    private static final Axis[] AXES = Axis.values();
+
+    /**
+     * Default fraction of the smallest Box extent the fastest object may move in one substep
+     */
+    private static final float DEFAULT_SUBSTEP_FRACTION = 0.5f;
+
+    /**
+     * Objects of the current pass in the order they are ticked in
+     */
+    private Physics[] objects;
+
+    /**
+     * Number of objects in the current pass
+     */
+    private int size;
+
+    /**
+     * Time elapsed in the current pass
+     */
+    private float deltaTime;
+
+    /**
+     * Graph of the contacts between objects, caching the stack masses used for friction
+     */
+    private final ContactGraph graph;
+
+    /**
+     * Pool to update motion on, or null to update serially
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Number of objects below which a task is no longer split
+     */
+    private int threshold;
+
+    /**
+     * Most substeps a tick can be split into, or 1 to never split ticks
+     */
+    private int maxSubsteps;
+
+    /**
+     * Fraction of the smallest Box extent the fastest object may move in one substep
+     */
+    private float substepFraction;
+
+    /**
+     * Create a new serial Motion pass
+     */
+    public Motion() {
+        objects = new Physics[0];
+        size = 0;
+        deltaTime = 0;
+        graph = new ContactGraph();
+        pool = null;
+        threshold = DEFAULT_THRESHOLD;
+        maxSubsteps = 1;
+        substepFraction = DEFAULT_SUBSTEP_FRACTION;
+    }
+
+    /**
+     * Remember where every object is when a tick starts, which their interpolated positions are drawn from
+     * <br>
+     * This must be called once per tick before the first motion pass, so that interpolation covers the whole tick
+     * when it is split into substeps
+     *
+     * @param objects Objects in the order they will be ticked in
+     */
+    public void prepareTick(List<? extends Physics> objects) {
+        for (int i = 0; i < objects.size(); i++) objects.get(i).prepareTick();
+    }
+
+    /**
+     * Update the motion of all objects, then apply the momentum they transferred to each other
+     *
+     * @param objects    Objects in the order they will be ticked in
+     * @param broadPhase BroadPhase of the objects, updated after all objects moved
+     * @param deltaTime  Time elapsed in the previous tick
+     */
+    public void tick(List<? extends Physics> objects, BroadPhase broadPhase, float deltaTime) {
+        size = objects.size();
+        if (this.objects.length < size) this.objects = new Physics[size];
+        int i;
+        for (i = 0; i < size; i++) {
+            Physics physics = objects.get(i);
+            this.objects[i] = physics;
+            physics.prepareMotion();
+        }
+        graph.update(this.objects, size);
+        this.deltaTime = deltaTime;
+
+        broadPhase.deferred = true;
+        try {
+            if (pool == null || size <= threshold) tick(0, size);
+            else pool.invoke(new Task(this, 0, size));
+        } finally {
+            broadPhase.deferred = false;
+        }
+
+        for (i = 0; i < size; i++) this.objects[i].applyTransfers();
+        for (i = 0; i < size; i++) {
+            this.objects[i].flushMove();
+            this.objects[i] = null;
+        }
+    }
+
+    /**
+     * Update the motion of a range of objects
+     *
+     * @param from Index of the first object
+     * @param to   Index after the last object
+     */
+    private void tick(int from, int to) {
+        for (int i = from; i < to; i++) objects[i].tickMotion(deltaTime);
+    }
+
+    /**
+     * Get the number of substeps a tick should be split into so that no object moves further than a fraction of the
+     * smallest Box extent in a single substep
+     * <br>
+     * Ticks where every object is slow take a single step
+     *
+     * @param objects   Objects in the order they will be ticked in
+     * @param deltaTime Time elapsed in the previous tick
+     * @return Number of substeps, from 1 to the maximum number of substeps
+     */
+    public int getSubsteps(List<? extends Physics> objects, float deltaTime) {
+        if (maxSubsteps == 1) return 1;
+        float distance = 0, extent = Float.MAX_VALUE;
+        for (int i = 0; i < objects.size(); i++) {
+            Physics physics = objects.get(i);
+            if (physics.isMoving())
+                distance = Math.max(distance, physics.getVelocityMagnitude() * physics.getTimeScale());
+            for (Axis axis : AXES) {
+                float dimension = physics.getDimensions(axis);
+                if (Float.compare(dimension, 0) > 0 && dimension < extent) extent = dimension;
+            }
+        }
+        distance *= Math.abs(deltaTime);
+        if (Float.compare(distance, 0) == 0 || Float.compare(extent, Float.MAX_VALUE) == 0) return 1;
+        float substeps = (float) Math.ceil(distance / (extent * substepFraction));
+        return (int) Math.max(1, Math.min(substeps, maxSubsteps));
+    }
+
+    /**
+     * Get the pool motion is updated on
+     *
+     * @return ForkJoinPool, or null if motion is updated serially
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Set the pool to update motion on
+     * <br>
+     * Set to null to update motion serially
+     *
+     * @param pool ForkJoinPool to use
+     * @return This Motion pass
+     */
+    public Motion setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Get the number of objects below which work is no longer split between threads
+     *
+     * @return Split threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Set the number of objects below which work is no longer split between threads
+     *
+     * @param threshold Split threshold
+     * @return This Motion pass
+     */
+    public Motion setThreshold(int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("Cannot set threshold below 1");
+        this.threshold = threshold;
+        return this;
+    }
+
+    /**
+     * Get the most substeps a tick can be split into
+     *
+     * @return Maximum number of substeps
+     */
+    public int getMaxSubsteps() {
+        return maxSubsteps;
+    }
+
+    /**
+     * Set the most substeps a tick can be split into
+     * <br>
+     * Set to 1 to never split ticks
+     *
+     * @param maxSubsteps Maximum number of substeps
+     * @return This Motion pass
+     */
+    public Motion setMaxSubsteps(int maxSubsteps) {
+        if (maxSubsteps < 1)
+            throw new IllegalArgumentException("Cannot set maxSubsteps below 1");
+        this.maxSubsteps = maxSubsteps;
+        return this;
+    }
+
+    /**
+     * Get the fraction of the smallest Box extent the fastest object may move in one substep
+     *
+     * @return Substep fraction
+     */
+    public float getSubstepFraction() {
+        return substepFraction;
+    }
+
+    /**
+     * Set the fraction of the smallest Box extent the fastest object may move in one substep
+     *
+     * @param substepFraction Substep fraction
+     * @return This Motion pass
+     */
+    public Motion setSubstepFraction(float substepFraction) {
+        if (Float.compare(substepFraction, 0) <= 0)
+            throw new IllegalArgumentException("Cannot set substepFraction to 0 or below");
+        this.substepFraction = substepFraction;
+        return this;
+    }
+
+    /**
+     * Task updating the motion of a range of objects, split in half until it is small enough
+     */
+    private static class Task extends RecursiveAction {
+
+        /**
+         * Version of the serialized form, since RecursiveAction is Serializable
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Motion pass the task belongs to
+         */
+        private final transient Motion motion;
+
+        /**
+         * Range of objects of the task
+         */
+        private final int from, to;
+
+        /**
+         * Create a new Task for a range of objects
+         *
+         * @param motion Motion pass the task belongs to
+         * @param from   Index of the first object
+         * @param to     Index after the last object
+         */
+        private Task(Motion motion, int from, int to) {
+            this.motion = motion;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Update the range of objects, or split it between two new tasks
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= motion.threshold) {
+                motion.tick(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(motion, from, middle), new Task(motion, middle, to));
+            }
+        }
+    }
+}
@@ -2,9 +2,11 @@ package xyz.jeremynoesen.pseudo3d.core.object;
 
 import xyz.jeremynoesen.pseudo3d.core.util.Axis;
 import xyz.jeremynoesen.pseudo3d.core.util.Box;
+import xyz.jeremynoesen.pseudo3d.core.util.MutableVector;
 import xyz.jeremynoesen.pseudo3d.core.util.Side;
 import xyz.jeremynoesen.pseudo3d.core.util.Vector;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -15,9 +17,39 @@ import java.util.*;
 public abstract class Physics extends Box {
 
     /**
-     * Objects this object is in a Scene with
+     * Axes in order, kept to avoid copying them on every tick
      */
-    private LinkedList<Physics> sceneObjects;
+    private static final Axis[] AXES = Axis.values();
+
+    /**
+     * Sides in order, kept to avoid copying them on every tick
+     */
+    private static final Side[] SIDES = Side.values();
+
+    /**
+     * BroadPhase of the Scene this object is in
+     */
+    private BroadPhase broadPhase;
+
+    /**
+     * Position of this object in the order the Scene ticks collisions in
+     */
+    int order;
+
+    /**
+     * Index of the object in the BruteForce holding it
+     */
+    int index;
+
+    /**
+     * Whether the object is asleep and skips motion and collision updates
+     */
+    boolean sleeping;
+
+    /**
+     * Number of consecutive ticks the object has been at rest
+     */
+    int calmTicks;
 
     /**
      * Time elapsed in the previous tick
@@ -30,9 +62,36 @@ public abstract class Physics extends Box {
     private boolean updatable;
 
     /**
-     * Velocity of the object (meters / second)
+     * Whether the object sweeps its Box along its motion to find objects it would otherwise pass through
      */
-    private Vector velocity;
+    private boolean continuous;
+
+    /**
+     * Position of the object per Axis when the current motion pass started, which is once per substep, used to sweep
+     * its Box
+     */
+    private final float[] start;
+
+    /**
+     * Position of the object per Axis when the current tick started, before any substeps, used to interpolate its
+     * position
+     */
+    private final float[] previousPosition;
+
+    /**
+     * Box covering the motion of the object in the current tick, created when first swept
+     */
+    private Box sweep;
+
+    /**
+     * Velocity of the object per Axis (meters / second)
+     */
+    private final float[] velocity;
+
+    /**
+     * Velocity of the object as a Vector, created when first requested after the velocity changed
+     */
+    private Vector velocityVector;
 
     /**
      * Acceleration of the object (meters / second ^ 2)
@@ -52,47 +111,148 @@ public abstract class Physics extends Box {
     /**
      * Coefficient of drag per side
      */
-    private final HashMap<Side, Float> drag;
+    private final float[] drag;
 
     /**
      * Coefficient of friction per side
      */
-    private final HashMap<Side, Float> friction;
+    private final float[] friction;
+
+    /**
+     * Bitmask of collideable sides
+     */
+    private int collidableSides;
+
+    /**
+     * Bitmask of the collision layers the object is on
+     */
+    private int collisionLayers;
+
+    /**
+     * Bitmask of the collision layers the object can collide with or overlap
+     */
+    private int collisionMask;
+
+    /**
+     * Bitmask of kinematic Axes
+     */
+    private int kinematicAxes;
+
+    /**
+     * Bitmask of pushable Axes
+     */
+    private int pushableAxes;
+
+    /**
+     * Objects colliding with this object per Side, in the order they collided
+     */
+    ArrayList<ArrayList<Physics>> collidingObjects;
+
+    /**
+     * Bitmask of Sides with colliding objects
+     */
+    private int collidingSides;
+
+    /**
+     * Objects colliding with this object per Side in the previous collision pass, kept so contacts that are still
+     * resting can be checked again along their Side alone
+     */
+    private ArrayList<ArrayList<Physics>> previousCollidingObjects;
+
+    /**
+     * Bitmask of Sides with colliding objects in the previous collision pass
+     */
+    private int previousCollidingSides;
+
+    /**
+     * Objects overlapping this one, in the order they overlapped
+     */
+    private final ArrayList<Physics> overlappingObjects;
+
+    /**
+     * Temporary bitmask of Axes used in special cases of momentum
+     */
+    private int skipMomentum;
+
+    /**
+     * Temporary list used in special cases of collisions
+     */
+    private final ArrayList<Physics> specialCollisions;
+
+    /**
+     * Temporary list of objects stacked on this object, used to apply friction
+     */
+    private final ArrayList<Physics> stack;
+
+    /**
+     * Mass of the object plus every object stacked on it on each Side, indexed by Side, cached by the ContactGraph
+     */
+    final float[] stackMass;
+
+    /**
+     * Bitmask of the Sides with a cached stack mass
+     */
+    int stackSides;
+
+    /**
+     * Bitmask of the Sides whose stacks are trees, meaning every object in them rests on only one other object
+     */
+    int stackTrees;
+
+    /**
+     * Bitmask of the Sides the ContactGraph has visited the object on
+     */
+    int stackVisits;
 
     /**
-     * Set of collideable sides
+     * Number of the ContactGraph update the cached stack masses belong to
      */
-    private final HashSet<Side> collidableSides;
+    int stackUpdate;
 
     /**
-     * Set of kinematic Axes
+     * Velocity of the object per Axis when the current motion pass started, read by other objects during the pass
      */
-    private final HashSet<Axis> kinematicAxes;
+    private final float[] previousVelocity;
 
     /**
-     * Set of pushable Axes
+     * Objects this object transferred momentum to in the current motion pass
      */
-    private final HashSet<Axis> pushableAxes;
+    private Physics[] transferTargets;
 
     /**
-     * Set of objects colliding with this object per Side
+     * Axes of the momentum transfers in the current motion pass
      */
-    private final HashMap<Side, HashSet<Physics>> collidingObjects;
+    private Axis[] transferAxes;
 
     /**
-     * Set of objects overlapping this one
+     * Velocities the momentum transfers in the current motion pass give their objects
      */
-    private final HashSet<Physics> overlappingObjects;
+    private float[] transferVelocities;
 
     /**
-     * Temporary Set used in special cases of momentum
+     * Number of momentum transfers in the current motion pass
      */
-    private final HashSet<Axis> skipMomentum;
+    private int transferCount;
 
     /**
-     * Temporary Set used in special cases of collisions
+     * Whether the object moved while BroadPhase updates were deferred
      */
-    private final HashSet<Physics> specialCollisions;
+    private boolean moved;
+
+    /**
+     * Objects found overlapping this object in the detect stage of the current collision pass
+     */
+    private Physics[] contacts;
+
+    /**
+     * Number of objects found overlapping this object in the detect stage of the current collision pass
+     */
+    private int contactCount;
+
+    /**
+     * Objects woken by this object whose contacts are still to be checked, kept to avoid allocating on every wake
+     */
+    private Physics[] woken;
 
     /**
      * Create new default Physics object
@@ -101,23 +261,49 @@ public abstract class Physics extends Box {
         super();
         deltaTime = 0;
         updatable = true;
-        velocity = new Vector();
+        continuous = false;
+        start = new float[AXES.length];
+        previousPosition = new float[AXES.length];
+        sweep = null;
+        velocity = new float[AXES.length];
+        velocityVector = null;
         acceleration = new Vector();
         gravity = new Vector(0, -9.81f, 0);
         mass = 1;
-        drag = new HashMap<>();
-        friction = new HashMap<>();
-        collidableSides = new HashSet<>(Arrays.asList(Side.values()));
-        kinematicAxes = new HashSet<>(Arrays.asList(Axis.values()));
-        pushableAxes = new HashSet<>(Arrays.asList(Axis.values()));
-        collidingObjects = new HashMap<>();
-        overlappingObjects = new HashSet<>();
-        skipMomentum = new HashSet<>();
-        specialCollisions = new HashSet<>();
-        for (Side s : Side.values()) {
-            drag.put(s, 0.5f);
-            friction.put(s, 5f);
-            collidingObjects.put(s, new HashSet<>());
+        drag = new float[SIDES.length];
+        friction = new float[SIDES.length];
+        collidableSides = mask(SIDES);
+        collisionLayers = 1;
+        collisionMask = -1;
+        kinematicAxes = mask(AXES);
+        pushableAxes = mask(AXES);
+        collidingObjects = new ArrayList<>();
+        collidingSides = 0;
+        previousCollidingObjects = new ArrayList<>();
+        previousCollidingSides = 0;
+        overlappingObjects = new ArrayList<>();
+        skipMomentum = 0;
+        specialCollisions = new ArrayList<>();
+        stack = new ArrayList<>();
+        stackMass = new float[SIDES.length];
+        stackSides = 0;
+        stackTrees = 0;
+        stackVisits = 0;
+        stackUpdate = 0;
+        previousVelocity = new float[AXES.length];
+        transferTargets = new Physics[0];
+        transferAxes = new Axis[0];
+        transferVelocities = new float[0];
+        transferCount = 0;
+        moved = false;
+        contacts = new Physics[0];
+        contactCount = 0;
+        woken = new Physics[0];
+        for (Side s : SIDES) {
+            drag[s.ordinal()] = 0.5f;
+            friction[s.ordinal()] = 5f;
+            collidingObjects.add(new ArrayList<>());
+            previousCollidingObjects.add(new ArrayList<>());
         }
     }
 
@@ -128,70 +314,243 @@ public abstract class Physics extends Box {
      */
     public Physics(Physics physics) {
         super(physics);
-        sceneObjects = physics.sceneObjects;
+        broadPhase = physics.broadPhase;
+        sleeping = physics.sleeping;
+        calmTicks = physics.calmTicks;
         deltaTime = physics.deltaTime;
         updatable = physics.updatable;
-        velocity = physics.velocity;
+        continuous = physics.continuous;
+        start = physics.start.clone();
+        previousPosition = physics.previousPosition.clone();
+        sweep = null;
+        velocity = physics.velocity.clone();
+        velocityVector = physics.velocityVector;
         acceleration = physics.acceleration;
         gravity = physics.gravity;
         mass = physics.mass;
-        drag = new HashMap<>();
-        friction = new HashMap<>();
-        collidableSides = new HashSet<>(physics.collidableSides);
-        kinematicAxes = new HashSet<>(physics.kinematicAxes);
-        pushableAxes = new HashSet<>(physics.pushableAxes);
-        collidingObjects = new HashMap<>();
-        overlappingObjects = new HashSet<>(physics.overlappingObjects);
-        skipMomentum = new HashSet<>();
-        specialCollisions = new HashSet<>();
-        for (Side s : Side.values()) {
-            drag.put(s, physics.drag.get(s));
-            friction.put(s, physics.friction.get(s));
-            collidingObjects.put(s, new HashSet<>(physics.collidingObjects.get(s)));
+        drag = physics.drag.clone();
+        friction = physics.friction.clone();
+        collidableSides = physics.collidableSides;
+        collisionLayers = physics.collisionLayers;
+        collisionMask = physics.collisionMask;
+        kinematicAxes = physics.kinematicAxes;
+        pushableAxes = physics.pushableAxes;
+        collidingObjects = new ArrayList<>();
+        collidingSides = physics.collidingSides;
+        previousCollidingObjects = new ArrayList<>();
+        previousCollidingSides = 0;
+        overlappingObjects = new ArrayList<>(physics.overlappingObjects);
+        skipMomentum = 0;
+        specialCollisions = new ArrayList<>();
+        stack = new ArrayList<>();
+        stackMass = new float[SIDES.length];
+        stackSides = 0;
+        stackTrees = 0;
+        stackVisits = 0;
+        stackUpdate = 0;
+        previousVelocity = velocity.clone();
+        transferTargets = new Physics[0];
+        transferAxes = new Axis[0];
+        transferVelocities = new float[0];
+        transferCount = 0;
+        moved = false;
+        contacts = new Physics[0];
+        contactCount = 0;
+        woken = new Physics[0];
+        for (ArrayList<Physics> objects : physics.collidingObjects) {
+            collidingObjects.add(new ArrayList<>(objects));
+            previousCollidingObjects.add(new ArrayList<>());
         }
     }
 
+    /**
+     * Make this object a copy of another object in place, reusing its arrays and lists
+     * <br>
+     * Unlike the copy constructor, contacts are not copied and the object is left awake, as if it was just created
+     * where the other object is. The BroadPhase of this object is kept
+     *
+     * @param physics Physics object to copy
+     */
+    void reset(Physics physics) {
+        for (Axis axis : AXES) {
+            if (Float.compare(getDimensions(axis), physics.getDimensions(axis)) != 0)
+                setDimensions(axis, physics.getDimensions(axis));
+            if (Float.compare(getPosition(axis), physics.getPosition(axis)) != 0)
+                move(axis, physics.getPosition(axis));
+            start[axis.ordinal()] = getPosition(axis);
+            previousPosition[axis.ordinal()] = getPosition(axis);
+            velocity[axis.ordinal()] = physics.velocity[axis.ordinal()];
+            previousVelocity[axis.ordinal()] = velocity[axis.ordinal()];
+        }
+        sleeping = false;
+        calmTicks = 0;
+        deltaTime = 0;
+        updatable = physics.updatable;
+        continuous = physics.continuous;
+        velocityVector = null;
+        acceleration = physics.acceleration;
+        gravity = physics.gravity;
+        mass = physics.mass;
+        System.arraycopy(physics.drag, 0, drag, 0, drag.length);
+        System.arraycopy(physics.friction, 0, friction, 0, friction.length);
+        collidableSides = physics.collidableSides;
+        collisionLayers = physics.collisionLayers;
+        collisionMask = physics.collisionMask;
+        kinematicAxes = physics.kinematicAxes;
+        pushableAxes = physics.pushableAxes;
+        for (int i = 0; i < collidingObjects.size(); i++) collidingObjects.get(i).clear();
+        collidingSides = 0;
+        overlappingObjects.clear();
+        skipMomentum = 0;
+        specialCollisions.clear();
+        stack.clear();
+        stackSides = 0;
+        Arrays.fill(transferTargets, 0, transferCount, null);
+        transferCount = 0;
+        Arrays.fill(contacts, 0, contactCount, null);
+        contactCount = 0;
+    }
+
     /**
      * Update the motion of the object
+     * <br>
+     * Other objects are only read as they were when the motion pass started, and momentum given to other objects is
+     * only applied once every object has ticked, so objects can update their motion in any order or in parallel
      *
      * @param deltaTime Time elapsed in the previous tick
      */
     public void tickMotion(float deltaTime) {
-        if (!updatable || !isKinematic()) return;
-        this.deltaTime = deltaTime;
+        if (!isMoving()) return;
+        this.deltaTime = deltaTime * getTimeScale();
         applyMomentum();
         applyAcceleration();
         applyFriction();
         applyDrag();
         applyVelocity();
+        velocityVector = null;
+    }
+
+    /**
+     * Check if the object updates its motion, meaning it can update, is awake, and is kinematic
+     *
+     * @return True if the object updates its motion
+     */
+    boolean isMoving() {
+        return updatable && !sleeping && kinematicAxes != 0;
+    }
+
+    /**
+     * Get the scale applied to the time elapsed in each tick for this object
+     * <br>
+     * Subclasses override this to change how fast they move
+     *
+     * @return Time scale of the object
+     */
+    protected float getTimeScale() {
+        return 1;
+    }
+
+    /**
+     * Remember the position the object starts the tick from, which its interpolated position is drawn from
+     */
+    void prepareTick() {
+        for (Axis axis : AXES) previousPosition[axis.ordinal()] = getPosition(axis);
+    }
+
+    /**
+     * Remember the velocity other objects will read during the motion pass and the position the object starts from,
+     * and forget the previous momentum transfers
+     */
+    void prepareMotion() {
+        System.arraycopy(velocity, 0, previousVelocity, 0, AXES.length);
+        transferCount = 0;
+        stackSides = 0;
+        for (Axis axis : AXES) start[axis.ordinal()] = getPosition(axis);
+    }
+
+    /**
+     * Get the bitmask of kinematic Axes
+     *
+     * @return Bitmask with one bit per Axis
+     */
+    int getKinematicMask() {
+        return kinematicAxes;
+    }
+
+    /**
+     * Get the bitmask of Sides the object is colliding on
+     *
+     * @return Bitmask with one bit per Side
+     */
+    int getCollidingMask() {
+        return collidingSides;
+    }
+
+    /**
+     * Apply the momentum this object transferred to other objects during the motion pass, unless they were blocked on
+     * that Axis
+     */
+    void applyTransfers() {
+        for (int i = 0; i < transferCount; i++) {
+            Physics physics = transferTargets[i];
+            Axis axis = transferAxes[i];
+            if ((physics.skipMomentum & mask(axis)) == 0) {
+                physics.velocity[axis.ordinal()] = transferVelocities[i];
+                physics.velocityVector = null;
+            }
+            transferTargets[i] = null;
+        }
+        transferCount = 0;
+    }
+
+    /**
+     * Record a transfer of momentum to another object, applied once every object has ticked
+     *
+     * @param physics  Object receiving the momentum
+     * @param axis     Axis of the transfer
+     * @param velocity New velocity of the object on the Axis
+     */
+    private void transfer(Physics physics, Axis axis, float velocity) {
+        if (transferCount == transferTargets.length) {
+            int length = Math.max(4, transferCount * 2);
+            transferTargets = Arrays.copyOf(transferTargets, length);
+            transferAxes = Arrays.copyOf(transferAxes, length);
+            transferVelocities = Arrays.copyOf(transferVelocities, length);
+        }
+        transferTargets[transferCount] = physics;
+        transferAxes[transferCount] = axis;
+        transferVelocities[transferCount] = velocity;
+        transferCount++;
     }
 
     /**
      * Apply the effects of momentum to the velocity
      */
     private void applyMomentum() {
-        skipMomentum.clear();
-        for (Axis axis : kinematicAxes) {
-            float v = velocity.get(axis);
+        skipMomentum = 0;
+        for (Axis axis : AXES) {
+            if ((kinematicAxes & mask(axis)) == 0) continue;
+            int a = axis.ordinal();
+            float v = velocity[a];
             if (Float.compare(v, 0) != 0) {
-                for (Physics physics : collidingObjects.get(Side.getFromNormal(axis, v))) {
-                    if (physics.updatable && physics.isKinematic(axis) && physics.isPushable(axis)) {
+                ArrayList<Physics> objects = collidingObjects.get(Side.getFromNormal(axis, v).ordinal());
+                for (int i = 0; i < objects.size(); i++) {
+                    Physics physics = objects.get(i);
+                    if (physics.updatable && (physics.kinematicAxes & physics.pushableAxes & mask(axis)) != 0) {
                         float sum = mass + physics.mass;
                         float diff = mass - physics.mass;
                         float v1 = v;
-                        float v2 = physics.velocity.get(axis);
+                        float v2 = physics.previousVelocity[a];
                         if (Float.compare(sum, 0) != 0) {
                             v = ((diff / sum) * v1) + ((2 * physics.mass / sum) * v2);
-                            if (!physics.skipMomentum.contains(axis))
-                                physics.velocity =
-                                        physics.velocity.set(axis, ((-diff / sum) * v2) + ((2 * mass / sum) * v1));
+                            transfer(physics, axis, ((-diff / sum) * v2) + ((2 * mass / sum) * v1));
                         }
                     } else {
-                        skipMomentum.add(axis);
+                        skipMomentum |= mask(axis);
                     }
                 }
             }
-            velocity = velocity.set(axis, v);
+            velocity[a] = v;
         }
     }
 
@@ -199,9 +558,9 @@ public abstract class Physics extends Box {
      * Apply acceleration and gravity to the velocity
      */
     private void applyAcceleration() {
-        for (Axis axis : kinematicAxes) {
-            velocity = velocity.set(axis,
-                    velocity.get(axis) + ((acceleration.get(axis) + gravity.get(axis)) * deltaTime));
+        for (Axis axis : AXES) {
+            if ((kinematicAxes & mask(axis)) == 0) continue;
+            velocity[axis.ordinal()] += (acceleration.get(axis) + gravity.get(axis)) * deltaTime;
         }
     }
 
@@ -209,79 +568,131 @@ public abstract class Physics extends Box {
      * Apply the effect of friction to the velocity
      */
     private void applyFriction() {
-        Vector friction = new Vector();
-        for (Side side : getCollidingSides()) {
+        float fx = 0, fy = 0, fz = 0;
+        for (Side side : SIDES) {
+            if ((collidingSides & mask(side)) == 0) continue;
             Axis axis = Side.getNormalAxis(side);
 
-            if (isKinematic(axis)) {
+            if ((kinematicAxes & mask(axis)) != 0) {
+                int a = axis.ordinal();
                 float f = 0;
                 int count = 0;
 
-                for (Physics physics : collidingObjects.get(side)) {
+                ArrayList<Physics> objects = collidingObjects.get(side.ordinal());
+                for (int i = 0; i < objects.size(); i++) {
+                    Physics physics = objects.get(i);
                     if (physics.updatable) {
-                        f += physics.friction.get(side) *
-                                Math.abs(velocity.get(axis) - physics.getVelocity().get(axis));
+                        f += physics.friction[side.ordinal()] *
+                                Math.abs(velocity[a] - physics.previousVelocity[a]);
                         count++;
                     }
                 }
 
                 if (count > 0) {
-                    float totalMass = 0;
-                    ArrayDeque<Physics> current = new ArrayDeque<>();
-                    HashSet<Physics> visited = new HashSet<>();
-                    current.add(this);
-
-                    while (!current.isEmpty()) {
-                        Physics physics = current.poll();
-                        if (!visited.contains(physics)) {
-                            totalMass += physics.mass;
-                            for (Physics colliding : physics.collidingObjects.get(Side.getOpposite(side)))
-                                if (colliding.updatable && colliding.isKinematic(Side.getNormalAxis(side)))
-                                    current.add(colliding);
-                            visited.add(physics);
-                        }
-                    }
-
+                    Side opposite = Side.getOpposite(side);
+                    float totalMass = (stackSides & mask(opposite)) != 0 ?
+                            stackMass[opposite.ordinal()] : getStackMass(side);
                     if (Float.compare(totalMass, 0) != 0) {
-                        f = ((f + this.friction.get(side)) / (count + 1)) * totalMass * deltaTime;
-                        friction = friction.set(axis, friction.get(axis) + f);
+                        f = ((f + this.friction[side.ordinal()]) / (count + 1)) * totalMass * deltaTime;
+                        switch (axis) {
+                            case X -> fx += f;
+                            case Y -> fy += f;
+                            case Z -> fz += f;
+                        }
                     }
                 }
             }
         }
 
-        float vx = velocity.getX(), vy = velocity.getY(), vz = velocity.getZ();
-        float fx = friction.getX(), fy = friction.getY(), fz = friction.getZ();
+        float vx = velocity[0], vy = velocity[1], vz = velocity[2];
 
-        if (isKinematic(Axis.X)) {
+        if ((kinematicAxes & mask(Axis.X)) != 0) {
             if (Float.compare(vx, 0) < 0) vx = Math.min(vx + fy + fz, 0);
             else if (Float.compare(vx, 0) > 0) vx = Math.max(vx - fy - fz, 0);
         }
-        if (isKinematic(Axis.Y)) {
+        if ((kinematicAxes & mask(Axis.Y)) != 0) {
             if (Float.compare(vy, 0) < 0) vy = Math.min(vy + fx + fz, 0);
             else if (Float.compare(vy, 0) > 0) vy = Math.max(vy - fx - fz, 0);
         }
-        if (isKinematic(Axis.Z)) {
+        if ((kinematicAxes & mask(Axis.Z)) != 0) {
             if (Float.compare(vz, 0) < 0) vz = Math.min(vz + fx + fy, 0);
             else if (Float.compare(vz, 0) > 0) vz = Math.max(vz - fx - fy, 0);
         }
 
-        velocity = new Vector(vx, vy, vz);
+        velocity[0] = vx;
+        velocity[1] = vy;
+        velocity[2] = vz;
+    }
+
+    /**
+     * Get the total mass of this object and the objects stacked on it against a Side by searching the stack
+     *
+     * @param side Side the stack pushes against
+     * @return Total mass of the stack
+     */
+    float getStackMass(Side side) {
+        Side opposite = Side.getOpposite(side);
+        int axis = mask(Side.getNormalAxis(side));
+        float totalMass = 0;
+        stack.add(this);
+        for (int i = 0; i < stack.size(); i++) {
+            Physics physics = stack.get(i);
+            totalMass += physics.mass;
+            ArrayList<Physics> objects = physics.collidingObjects.get(opposite.ordinal());
+            for (int j = 0; j < objects.size(); j++) {
+                Physics colliding = objects.get(j);
+                if (colliding.updatable && (colliding.kinematicAxes & axis) != 0 && !contains(stack, colliding))
+                    stack.add(colliding);
+            }
+        }
+        stack.clear();
+        return totalMass;
+    }
+
+    /**
+     * Check if the object can be part of a stack moving on an Axis, meaning it can update and is kinematic on the Axis
+     *
+     * @param axis Bitmask of the Axis
+     * @return True if the object can be part of the stack
+     */
+    boolean isStackable(int axis) {
+        return updatable && (kinematicAxes & axis) != 0;
+    }
+
+    /**
+     * Get the live list of objects colliding with this object on a Side
+     *
+     * @param side Side of this object
+     * @return List of objects colliding on the Side
+     */
+    ArrayList<Physics> getCollidingList(Side side) {
+        return collidingObjects.get(side.ordinal());
+    }
+
+    /**
+     * Get the live list of objects overlapping this object
+     *
+     * @return List of overlapping objects
+     */
+    ArrayList<Physics> getOverlappingList() {
+        return overlappingObjects;
     }
 
     /**
      * Apply the effect of drag to the velocity
      */
     private void applyDrag() {
-        for (Axis axis : kinematicAxes) {
-            float v = velocity.get(axis);
+        for (Axis axis : AXES) {
+            if ((kinematicAxes & mask(axis)) == 0) continue;
+            int a = axis.ordinal();
+            float v = velocity[a];
             if (Float.compare(v, 0) != 0) {
-                float d = drag.get(Side.getFromNormal(axis, v)) * getFaceArea(Side.getFromNormal(axis, 1))
-                        * deltaTime * Math.abs(velocity.get(axis));
+                float d = drag[Side.getFromNormal(axis, v).ordinal()] * getFaceArea(Side.getFromNormal(axis, 1))
+                        * deltaTime * Math.abs(v);
                 if (Float.compare(v, 0) < 0)
-                    velocity = velocity.set(axis, Math.min(v + d, 0));
+                    velocity[a] = Math.min(v + d, 0);
                 else if (Float.compare(v, 0) > 0)
-                    velocity = velocity.set(axis, Math.max(v - d, 0));
+                    velocity[a] = Math.max(v - d, 0);
             }
         }
     }
@@ -290,12 +701,14 @@ public abstract class Physics extends Box {
      * Update the position of the object based on the velocity
      */
     private void applyVelocity() {
-        for (Axis axis : kinematicAxes) {
-            float v = velocity.multiply(deltaTime).get(axis);
-            if (!getCollidingSides().contains(Side.getFromNormal(axis, v)))
-                setPosition(getPosition().set(axis, getPosition().get(axis) + v));
+        for (Axis axis : AXES) {
+            if ((kinematicAxes & mask(axis)) == 0) continue;
+            float v = velocity[axis.ordinal()] * deltaTime;
+            Side side = Side.getFromNormal(axis, v);
+            if (side == null || (collidingSides & mask(side)) == 0)
+                move(axis, getPosition(axis) + v);
             else
-                velocity = velocity.set(axis, 0);
+                velocity[axis.ordinal()] = 0;
         }
     }
 
@@ -303,83 +716,394 @@ public abstract class Physics extends Box {
      * Check if an object has collided with this object
      */
     public void tickCollisions() {
-        if (!updatable || sceneObjects == null) return;
+        if (!updatable || broadPhase == null) return;
+        if (sleeping) {
+            mirrorCollisions();
+            return;
+        }
         resetCollisions();
-        for (Physics physics : sceneObjects) {
+        if (continuous) sweep();
+        List<Physics> candidates = broadPhase.query(this);
+        for (int i = 0; i < candidates.size(); i++) {
+            Physics physics = candidates.get(i);
             if (physics != this && physics.updatable && super.overlaps(physics)) {
-                if (isCollideable()) {
+                if (physics.sleeping) physics.wake();
+                float x = getPosition(Axis.X), y = getPosition(Axis.Y), z = getPosition(Axis.Z);
+                if (collidableSides != 0) {
                     collide(physics);
                 } else {
                     overlap(physics);
                 }
+                if (Float.compare(x, getPosition(Axis.X)) != 0 || Float.compare(y, getPosition(Axis.Y)) != 0
+                        || Float.compare(z, getPosition(Axis.Z)) != 0) {
+                    candidates = broadPhase.query(this);
+                    i = skip(candidates, physics.order) - 1;
+                }
             }
         }
     }
 
     /**
-     * Reset all collision data
+     * Find the objects overlapping this object without changing any object, so objects can be detected in parallel
+     * <br>
+     * The contacts are kept until they are resolved
+     *
+     * @param candidates List to collect BroadPhase candidates into
      */
-    private void resetCollisions() {
-        collidingObjects.values().forEach(HashSet::clear);
+    void detectCollisions(ArrayList<Physics> candidates) {
+        contactCount = 0;
+        if (!updatable || sleeping || broadPhase == null) return;
+        broadPhase.query(this, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Physics physics = candidates.get(i);
+            if (physics != this && physics.updatable && super.overlaps(physics)) {
+                if (contactCount == contacts.length) contacts = Arrays.copyOf(contacts, Math.max(4, contactCount * 2));
+                contacts[contactCount++] = physics;
+            }
+        }
+        candidates.clear();
+    }
+
+    /**
+     * Resolve the contacts found in the detect stage in order, correcting the position of this object
+     * <br>
+     * Objects moved by earlier resolves are checked again, so only objects still overlapping this one collide
+     */
+    void resolveCollisions() {
+        if (!updatable || broadPhase == null) return;
+        if (sleeping) {
+            mirrorCollisions();
+            return;
+        }
+        resetCollisions();
+        if (continuous) sweep();
+        for (int i = 0; i < contactCount; i++) {
+            Physics physics = contacts[i];
+            contacts[i] = null;
+            if (physics.updatable && super.overlaps(physics)) {
+                if (physics.sleeping) physics.wake();
+                if (collidableSides != 0) collide(physics);
+                else overlap(physics);
+            }
+        }
+        contactCount = 0;
+    }
+
+    /**
+     * Find the first candidate after a position in the collision order
+     * <br>
+     * This is used to continue with new candidates after this object has moved
+     *
+     * @param candidates Candidates sorted by collision order
+     * @param order      Position in the collision order to skip to
+     * @return Index of the first candidate after the position
+     */
+    private static int skip(List<Physics> candidates, int order) {
+        int low = 0, high = candidates.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (candidates.get(mid).order <= order) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Sweep the Box of the object from where it was when the motion pass started to where it is now, and move it back
+     * to the first object it would have passed through on the way
+     * <br>
+     * Only objects the object would collide with stop it, and objects it already overlapped at the start are left to
+     * the regular collision checks
+     */
+    private void sweep() {
+        float dx = getPosition(Axis.X) - start[0], dy = getPosition(Axis.Y) - start[1],
+                dz = getPosition(Axis.Z) - start[2];
+        if (Float.compare(dx, 0) == 0 && Float.compare(dy, 0) == 0 && Float.compare(dz, 0) == 0) return;
+
+        if (sweep == null) sweep = new Box();
+        sweep.setDimensions(Axis.X, getWidth() + Math.abs(dx))
+                .setDimensions(Axis.Y, getHeight() + Math.abs(dy))
+                .setDimensions(Axis.Z, getDepth() + Math.abs(dz))
+                .setPosition(Axis.X, start[0] + (dx / 2))
+                .setPosition(Axis.Y, start[1] + (dy / 2))
+                .setPosition(Axis.Z, start[2] + (dz / 2));
+
+        Physics hit = null;
+        Axis hitAxis = null;
+        float first = Float.MAX_VALUE;
+        List<Physics> candidates = broadPhase.query(sweep);
+        for (int i = 0; i < candidates.size(); i++) {
+            Physics physics = candidates.get(i);
+            if (physics == this || !physics.updatable || !canInteract(physics)) continue;
+            float enter = -Float.MAX_VALUE, exit = Float.MAX_VALUE;
+            Axis axis = null;
+            for (Axis a : AXES) {
+                float d = getPosition(a) - start[a.ordinal()];
+                float min = getMinimum(a) - d, max = getMaximum(a) - d;
+                if (Float.compare(d, 0) == 0) {
+                    if (max < physics.getMinimum(a) || min > physics.getMaximum(a)) exit = -Float.MAX_VALUE;
+                    continue;
+                }
+                float near = ((d > 0 ? physics.getMinimum(a) - max : physics.getMaximum(a) - min)) / d;
+                float far = ((d > 0 ? physics.getMaximum(a) - min : physics.getMinimum(a) - max)) / d;
+                if (near > enter) {
+                    enter = near;
+                    axis = a;
+                }
+                exit = Math.min(exit, far);
+            }
+            if (axis == null || enter < 0 || enter > exit || enter >= first) continue;
+            Side side = Side.getFromNormal(axis, getPosition(axis) - start[axis.ordinal()]);
+            if ((collidableSides & mask(side)) == 0 || (physics.collidableSides & mask(Side.getOpposite(side))) == 0)
+                continue;
+            first = enter;
+            hit = physics;
+            hitAxis = axis;
+        }
+        if (hit == null || first > 1) return;
+
+        for (Axis axis : AXES) {
+            if ((kinematicAxes & mask(axis)) == 0) continue;
+            int a = axis.ordinal();
+            float position = start[a] + ((getPosition(axis) - start[a]) * first);
+            if (axis == hitAxis) {
+                float half = getDimensions(axis) / 2;
+                position = getPosition(axis) > start[a] ? hit.getMinimum(axis) - half : hit.getMaximum(axis) + half;
+            }
+            move(axis, position);
+        }
+        if (hit.sleeping) hit.wake();
+        if (super.overlaps(hit)) collide(hit);
+    }
+
+    /**
+     * Report the contacts of a sleeping object to the static objects it touches again, as their collision data is reset
+     * every tick
+     */
+    private void mirrorCollisions() {
+        for (Side side : SIDES) {
+            ArrayList<Physics> objects = collidingObjects.get(side.ordinal());
+            for (int i = 0; i < objects.size(); i++) {
+                Physics physics = objects.get(i);
+                if (physics.isStatic()) physics.addColliding(Side.getOpposite(side), this);
+            }
+        }
+        for (int i = 0; i < overlappingObjects.size(); i++) {
+            Physics physics = overlappingObjects.get(i);
+            if (physics.isStatic()) physics.addOverlapping(this);
+        }
+    }
+
+    /**
+     * Reset all collision data, keeping the colliding objects as those of the previous collision pass
+     * <br>
+     * Collisions calls this on static objects before the collision pass, as they only receive the contacts found by
+     * objects that are not static
+     */
+    void resetCollisions() {
+        ArrayList<ArrayList<Physics>> objects = previousCollidingObjects;
+        previousCollidingObjects = collidingObjects;
+        previousCollidingSides = collidingSides;
+        collidingObjects = objects;
+        for (int i = 0; i < collidingObjects.size(); i++) collidingObjects.get(i).clear();
+        collidingSides = 0;
+        stackSides = 0;
         overlappingObjects.clear();
         specialCollisions.clear();
     }
 
+    /**
+     * Add an object colliding with this object on a Side, unless it was already added
+     *
+     * @param side    Side of this object
+     * @param physics Object colliding with this object
+     */
+    private void addColliding(Side side, Physics physics) {
+        ArrayList<Physics> objects = collidingObjects.get(side.ordinal());
+        if (!contains(objects, physics)) objects.add(physics);
+        collidingSides |= mask(side);
+    }
+
+    /**
+     * Add an object overlapping this object, unless it was already added
+     *
+     * @param physics Object overlapping this object
+     */
+    private void addOverlapping(Physics physics) {
+        if (!contains(overlappingObjects, physics)) overlappingObjects.add(physics);
+    }
+
+    /**
+     * Get the distance this object overlaps another object by on a Side
+     *
+     * @param side    Side of this object
+     * @param physics Object overlapping this object
+     * @return Overlap distance on the Side
+     */
+    private float getOverlap(Side side, Physics physics) {
+        return switch (side) {
+            case LEFT -> Math.abs(getMinimum(Axis.X) - physics.getMaximum(Axis.X));
+            case RIGHT -> Math.abs(getMaximum(Axis.X) - physics.getMinimum(Axis.X));
+            case BOTTOM -> Math.abs(getMinimum(Axis.Y) - physics.getMaximum(Axis.Y));
+            case TOP -> Math.abs(getMaximum(Axis.Y) - physics.getMinimum(Axis.Y));
+            case BACK -> Math.abs(getMinimum(Axis.Z) - physics.getMaximum(Axis.Z));
+            case FRONT -> Math.abs(getMaximum(Axis.Z) - physics.getMinimum(Axis.Z));
+        };
+    }
+
+    /**
+     * Check if this object reaches past the face of another object on a Side, so the overlap on that Side is not 0
+     *
+     * @param side    Side of this object
+     * @param physics Object overlapping this object
+     * @return True if this object reaches past the face of the object on the Side
+     */
+    private boolean isPast(Side side, Physics physics) {
+        return switch (side) {
+            case LEFT -> getMinimum(Axis.X) < physics.getMaximum(Axis.X);
+            case RIGHT -> getMaximum(Axis.X) > physics.getMinimum(Axis.X);
+            case BOTTOM -> getMinimum(Axis.Y) < physics.getMaximum(Axis.Y);
+            case TOP -> getMaximum(Axis.Y) > physics.getMinimum(Axis.Y);
+            case BACK -> getMinimum(Axis.Z) < physics.getMaximum(Axis.Z);
+            case FRONT -> getMaximum(Axis.Z) > physics.getMinimum(Axis.Z);
+        };
+    }
+
+    /**
+     * Get the bitmask of Axes
+     *
+     * @param axis Axes to include
+     * @return Bitmask of the Axes
+     */
+    private static int mask(Axis... axis) {
+        int mask = 0;
+        for (Axis a : axis) mask |= 1 << a.ordinal();
+        return mask;
+    }
+
+    /**
+     * Get the bitmask of an Axis
+     *
+     * @param axis Axis to include
+     * @return Bitmask of the Axis
+     */
+    static int mask(Axis axis) {
+        return 1 << axis.ordinal();
+    }
+
+    /**
+     * Get the bitmask of Sides
+     *
+     * @param side Sides to include
+     * @return Bitmask of the Sides
+     */
+    private static int mask(Side... side) {
+        int mask = 0;
+        for (Side s : side) mask |= 1 << s.ordinal();
+        return mask;
+    }
+
+    /**
+     * Get the bitmask of a Side
+     *
+     * @param side Side to include
+     * @return Bitmask of the Side
+     */
+    static int mask(Side side) {
+        return 1 << side.ordinal();
+    }
+
     /**
      * Fix the position of this object to make a collision occur
+     * <br>
+     * Objects still resting on a Side they collided on in the previous collision pass skip the search for the Side
      *
      * @param physics Object colliding with this object
      */
     private void collide(Physics physics) {
-        HashMap<Side, Float> overlaps = new HashMap<>();
-        overlaps.put(Side.LEFT, Math.abs(getMinimum().getX() - physics.getMaximum().getX()));
-        overlaps.put(Side.RIGHT, Math.abs(getMaximum().getX() - physics.getMinimum().getX()));
-        overlaps.put(Side.BOTTOM, Math.abs(getMinimum().getY() - physics.getMaximum().getY()));
-        overlaps.put(Side.TOP, Math.abs(getMaximum().getY() - physics.getMinimum().getY()));
-        overlaps.put(Side.BACK, Math.abs(getMinimum().getZ() - physics.getMaximum().getZ()));
-        overlaps.put(Side.FRONT, Math.abs(getMaximum().getZ() - physics.getMinimum().getZ()));
-
+        Side resting = getRestingSide(physics);
+        if (resting != null) {
+            collide(physics, resting, 0);
+            return;
+        }
         float distance = Float.MAX_VALUE;
         Side side = null;
         byte zeros = 0;
-        for (Side s : Side.values()) {
-            if (Float.compare(overlaps.get(s), distance) < 0) {
-                distance = overlaps.get(s);
+        for (Side s : SIDES) {
+            float overlap = getOverlap(s, physics);
+            if (Float.compare(overlap, distance) < 0) {
+                distance = overlap;
                 side = s;
             }
-            if (Float.compare(overlaps.get(s), 0) == 0) zeros++;
+            if (Float.compare(overlap, 0) == 0) zeros++;
         }
         if (zeros > 1) return;
+        collide(physics, side, distance);
+    }
 
+    /**
+     * Fix the position of this object to make a collision occur on a Side
+     *
+     * @param physics  Object colliding with this object
+     * @param side     Side of this object the object collides on
+     * @param distance Distance this object overlaps the object by on the Side
+     */
+    private void collide(Physics physics, Side side, float distance) {
         Axis axis = Side.getNormalAxis(side);
-        if (isCollideable(side) && physics.isCollideable(Side.getOpposite(side))) {
-            if (isKinematic(axis) && Float.compare(Math.signum(velocity.get(axis)),
+        float v1 = velocity[axis.ordinal()];
+        float v2 = physics.velocity[axis.ordinal()];
+        Side opposite = Side.getOpposite(side);
+        if ((collidableSides & mask(side)) != 0 && (physics.collidableSides & mask(opposite)) != 0) {
+            if ((kinematicAxes & mask(axis)) != 0 && Float.compare(Math.signum(v1),
                     Math.signum(Side.getNormalVector(side).get(axis))) == 0) {
 
-                if (Float.compare(Math.signum(velocity.get(axis)), -Math.signum(physics.velocity.get(axis))) == 0
-                        && !physics.specialCollisions.contains(this)) {
-                    distance *= velocity.get(axis) / (velocity.get(axis) - physics.velocity.get(axis));
-                    specialCollisions.add(physics);
+                if (Float.compare(Math.signum(v1), -Math.signum(v2)) == 0
+                        && !contains(physics.specialCollisions, this)) {
+                    distance *= v1 / (v1 - v2);
+                    if (!contains(specialCollisions, physics)) specialCollisions.add(physics);
                 }
 
-                for (Axis axes : kinematicAxes) {
-                    setPosition(getPosition().set(axes,
-                            getPosition().get(axes) - (velocity.get(axes) * Math.abs(distance / velocity.get(axis)))));
+                for (Axis axes : AXES) {
+                    if ((kinematicAxes & mask(axes)) == 0) continue;
+                    move(axes, getPosition(axes) - (velocity[axes.ordinal()] * Math.abs(distance / v1)));
                 }
             }
-            collidingObjects.get(side).add(physics);
+            addColliding(side, physics);
+            if (physics.isStatic() && !isStatic()) physics.addColliding(opposite, this);
         } else {
             overlap(physics);
         }
     }
 
+    /**
+     * Get the Side an object collided with this object on in the previous collision pass, if the objects still touch
+     * exactly along that Side and overlap on the other Axes
+     * <br>
+     * The overlap on that Side is then 0 while every other overlap is not, so it is the Side a search would find
+     *
+     * @param physics Object overlapping this object
+     * @return Side the object still rests on, or null if the Side has to be searched for
+     */
+    private Side getRestingSide(Physics physics) {
+        if (previousCollidingSides == 0) return null;
+        for (Side side : SIDES) {
+            if ((previousCollidingSides & mask(side)) == 0
+                    || !contains(previousCollidingObjects.get(side.ordinal()), physics)) continue;
+            if (Float.compare(getOverlap(side, physics), 0) != 0) return null;
+            for (Side other : SIDES) if (other != side && !isPast(other, physics)) return null;
+            return side;
+        }
+        return null;
+    }
+
     /**
      * Set this object as overlapping another
      *
      * @param physics Object to overlap with
      */
     private void overlap(Physics physics) {
-        overlappingObjects.add(physics);
+        addOverlapping(physics);
+        if (physics.isStatic() && !isStatic()) physics.addOverlapping(this);
     }
 
     /**
@@ -388,7 +1112,29 @@ public abstract class Physics extends Box {
      * @return Velocity Vector of the object
      */
     public Vector getVelocity() {
-        return velocity;
+        if (velocityVector == null)
+            velocityVector = new Vector(velocity[0], velocity[1], velocity[2]);
+        return velocityVector;
+    }
+
+    /**
+     * Get the velocity of the object on a specific Axis
+     *
+     * @param axis Axis to get velocity for
+     * @return Velocity on the Axis
+     */
+    public float getVelocity(Axis axis) {
+        return velocity[axis.ordinal()];
+    }
+
+    /**
+     * Get the magnitude of the velocity without creating a Vector
+     *
+     * @return Magnitude of the velocity
+     */
+    float getVelocityMagnitude() {
+        float x = velocity[0], y = velocity[1], z = velocity[2];
+        return (float) Math.sqrt((x * x) + (y * y) + (z * z));
     }
 
     /**
@@ -398,7 +1144,11 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setVelocity(Vector velocity) {
-        this.velocity = velocity;
+        this.velocity[0] = velocity.getX();
+        this.velocity[1] = velocity.getY();
+        this.velocity[2] = velocity.getZ();
+        velocityVector = velocity;
+        wake();
         return this;
     }
 
@@ -419,6 +1169,7 @@ public abstract class Physics extends Box {
      */
     public Physics setAcceleration(Vector acceleration) {
         this.acceleration = acceleration;
+        wake();
         return this;
     }
 
@@ -439,6 +1190,7 @@ public abstract class Physics extends Box {
      */
     public Physics setGravity(Vector gravity) {
         this.gravity = gravity;
+        wake();
         return this;
     }
 
@@ -469,7 +1221,7 @@ public abstract class Physics extends Box {
      * @return Drag coefficient of the object Side
      */
     public float getDrag(Side side) {
-        return drag.get(side);
+        return drag[side.ordinal()];
     }
 
     /**
@@ -482,7 +1234,7 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setDrag(float drag, Side... side) {
-        for (Side sides : side.length > 0 ? side : Side.values()) this.drag.put(sides, drag);
+        for (Side sides : side.length > 0 ? side : SIDES) this.drag[sides.ordinal()] = drag;
         return this;
     }
 
@@ -498,12 +1250,12 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setDrag(float left, float right, float bottom, float top, float back, float front) {
-        drag.put(Side.LEFT, left);
-        drag.put(Side.RIGHT, right);
-        drag.put(Side.BOTTOM, bottom);
-        drag.put(Side.TOP, top);
-        drag.put(Side.BACK, back);
-        drag.put(Side.FRONT, front);
+        drag[Side.LEFT.ordinal()] = left;
+        drag[Side.RIGHT.ordinal()] = right;
+        drag[Side.BOTTOM.ordinal()] = bottom;
+        drag[Side.TOP.ordinal()] = top;
+        drag[Side.BACK.ordinal()] = back;
+        drag[Side.FRONT.ordinal()] = front;
         return this;
     }
 
@@ -514,7 +1266,7 @@ public abstract class Physics extends Box {
      * @return Coefficient of friction of the object Side
      */
     public float getFriction(Side side) {
-        return friction.get(side);
+        return friction[side.ordinal()];
     }
 
     /**
@@ -527,7 +1279,7 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setFriction(float friction, Side... side) {
-        for (Side sides : side.length > 0 ? side : Side.values()) this.friction.put(sides, friction);
+        for (Side sides : side.length > 0 ? side : SIDES) this.friction[sides.ordinal()] = friction;
         return this;
     }
 
@@ -543,12 +1295,12 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setFriction(float left, float right, float bottom, float top, float back, float front) {
-        friction.put(Side.LEFT, left);
-        friction.put(Side.RIGHT, right);
-        friction.put(Side.BOTTOM, bottom);
-        friction.put(Side.TOP, top);
-        friction.put(Side.BACK, back);
-        friction.put(Side.FRONT, front);
+        friction[Side.LEFT.ordinal()] = left;
+        friction[Side.RIGHT.ordinal()] = right;
+        friction[Side.BOTTOM.ordinal()] = bottom;
+        friction[Side.TOP.ordinal()] = top;
+        friction[Side.BACK.ordinal()] = back;
+        friction[Side.FRONT.ordinal()] = front;
         return this;
     }
 
@@ -560,8 +1312,9 @@ public abstract class Physics extends Box {
      * @return True if collideable on all specified Sides
      */
     public boolean isCollideable(Side... side) {
-        if (side.length == 0) return !collidableSides.isEmpty();
-        return collidableSides.containsAll(Arrays.asList(side));
+        if (side.length == 0) return collidableSides != 0;
+        int mask = mask(side);
+        return (collidableSides & mask) == mask;
     }
 
     /**
@@ -573,19 +1326,78 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setCollideable(Side... side) {
-        collidableSides.clear();
-        collidableSides.addAll(Arrays.asList(side));
+        collidableSides = mask(side);
         return this;
     }
 
     /**
      * Get the Sides the object can collide on
      * <br>
+     * Changing the returned set does not change the object. Sides are in the order of the Side enum
      *
      * @return HashSet of Sides the Object can collide on
      */
     public HashSet<Side> getCollideableSides() {
-        return collidableSides;
+        HashSet<Side> sides = new LinkedHashSet<>();
+        for (Side side : SIDES) if ((collidableSides & mask(side)) != 0) sides.add(side);
+        return sides;
+    }
+
+    /**
+     * Get the collision layers the object is on
+     *
+     * @return Bitmask of collision layers
+     */
+    public int getCollisionLayers() {
+        return collisionLayers;
+    }
+
+    /**
+     * Set the collision layers the object is on
+     * <br>
+     * Each bit is a layer, and objects start on the first layer only
+     *
+     * @param collisionLayers Bitmask of collision layers
+     * @return This Physics object
+     */
+    public Physics setCollisionLayers(int collisionLayers) {
+        this.collisionLayers = collisionLayers;
+        wake();
+        return this;
+    }
+
+    /**
+     * Get the collision layers the object can collide with or overlap
+     *
+     * @return Bitmask of collision layers
+     */
+    public int getCollisionMask() {
+        return collisionMask;
+    }
+
+    /**
+     * Set the collision layers the object can collide with or overlap
+     * <br>
+     * Each bit is a layer, and objects start with every layer set. Two objects only interact if each is on a layer in
+     * the mask of the other, so objects that never interact are left out of BroadPhase queries entirely
+     *
+     * @param collisionMask Bitmask of collision layers
+     * @return This Physics object
+     */
+    public Physics setCollisionMask(int collisionMask) {
+        this.collisionMask = collisionMask;
+        wake();
+        return this;
+    }
+
+    /**
+     * Check if the collision layers and masks of this object and another let them collide or overlap
+     *
+     * @param physics Object to check
+     * @return True if the objects can interact
+     */
+    public boolean canInteract(Physics physics) {
+        return (collisionLayers & physics.collisionMask) != 0 && (physics.collisionLayers & collisionMask) != 0;
     }
 
     /**
@@ -596,8 +1408,9 @@ public abstract class Physics extends Box {
      * @return True if kinematic on all specified Axes
      */
     public boolean isKinematic(Axis... axis) {
-        if (axis.length == 0) return !kinematicAxes.isEmpty();
-        return kinematicAxes.containsAll(Arrays.asList(axis));
+        if (axis.length == 0) return kinematicAxes != 0;
+        int mask = mask(axis);
+        return (kinematicAxes & mask) == mask;
     }
 
     /**
@@ -609,18 +1422,33 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setKinematic(Axis... axis) {
-        kinematicAxes.clear();
-        kinematicAxes.addAll(Arrays.asList(axis));
+        kinematicAxes = mask(axis);
+        wake();
         return this;
     }
 
     /**
      * Get the Axes the object is kinematic on
+     * <br>
+     * Changing the returned set does not change the object
      *
      * @return HashSet of Axes the object is kinematic on
      */
     public HashSet<Axis> getKinematicAxes() {
-        return kinematicAxes;
+        return getAxes(kinematicAxes);
+    }
+
+    /**
+     * Check if the object is static, meaning it is not kinematic on any Axis
+     * <br>
+     * Static objects never move from collisions, so the Scene only checks collisions for objects that are not static,
+     * and mirrors the contacts they find onto the static objects. Static objects touching each other are therefore not
+     * reported as colliding
+     *
+     * @return True if the object is static
+     */
+    public boolean isStatic() {
+        return kinematicAxes == 0;
     }
 
     /**
@@ -631,8 +1459,9 @@ public abstract class Physics extends Box {
      * @return True if pushable on all specified Axes
      */
     public boolean isPushable(Axis... axis) {
-        if (axis.length == 0) return !pushableAxes.isEmpty();
-        return pushableAxes.containsAll(Arrays.asList(axis));
+        if (axis.length == 0) return pushableAxes != 0;
+        int mask = mask(axis);
+        return (pushableAxes & mask) == mask;
     }
 
     /**
@@ -644,18 +1473,54 @@ public abstract class Physics extends Box {
      * @return This Physics object
      */
     public Physics setPushable(Axis... axis) {
-        pushableAxes.clear();
-        pushableAxes.addAll(Arrays.asList(axis));
+        pushableAxes = mask(axis);
         return this;
     }
 
     /**
      * Get the Axes the object is pushable on
+     * <br>
+     * Changing the returned set does not change the object
      *
      * @return HashSet of Axes the object is pushable on
      */
     public HashSet<Axis> getPushableAxes() {
-        return pushableAxes;
+        return getAxes(pushableAxes);
+    }
+
+    /**
+     * Check if the object uses continuous collision detection
+     *
+     * @return True if the object sweeps its Box along its motion
+     */
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * Set if the object uses continuous collision detection
+     * <br>
+     * Continuous objects sweep their Box along their motion every tick, so fast objects stop at thin objects instead of
+     * passing through them. This costs an extra BroadPhase query per tick, so it is best kept to fast objects
+     *
+     * @param continuous True to sweep the Box of the object along its motion
+     * @return This Physics object
+     */
+    public Physics setContinuous(boolean continuous) {
+        this.continuous = continuous;
+        return this;
+    }
+
+    /**
+     * Get the set of Axes in a bitmask
+     *
+     * @param mask Bitmask of Axes
+     * @return HashSet of Axes in the bitmask, in the order of the Axis enum
+     */
+    private static HashSet<Axis> getAxes(int mask) {
+        HashSet<Axis> axes = new LinkedHashSet<>();
+        for (Axis axis : AXES) if ((mask & mask(axis)) != 0) axes.add(axis);
+        return axes;
     }
 
     /**
@@ -664,10 +1529,7 @@ public abstract class Physics extends Box {
      * @return True if the object is colliding with another object
      */
     public boolean isColliding() {
-        for (Side side : Side.values()) {
-            if (isColliding(side)) return true;
-        }
-        return false;
+        return collidingSides != 0;
     }
 
     /**
@@ -677,8 +1539,8 @@ public abstract class Physics extends Box {
      * @return True if this object collides with the other objects
      */
     public boolean isColliding(Physics... physics) {
-        for (HashSet<Physics> list : collidingObjects.values()) {
-            if (list.containsAll(Arrays.asList(physics))) return true;
+        for (ArrayList<Physics> list : collidingObjects) {
+            if (containsAll(list, physics)) return true;
         }
         return false;
     }
@@ -690,10 +1552,8 @@ public abstract class Physics extends Box {
      * @return True if the object is colliding on the Sides
      */
     public boolean isColliding(Side... side) {
-        for (Side s : side) {
-            if (collidingObjects.get(s).isEmpty()) return false;
-        }
-        return true;
+        int mask = mask(side);
+        return (collidingSides & mask) == mask;
     }
 
     /**
@@ -704,21 +1564,21 @@ public abstract class Physics extends Box {
      * @return True if the object is colliding with the other object on the specified Side
      */
     public boolean isColliding(Physics physics, Side side) {
-        return collidingObjects.get(side).contains(physics);
+        return contains(collidingObjects.get(side.ordinal()), physics);
     }
 
     /**
      * Get all objects colliding on the specified Sides
      * <br>
-     * Specify no Sides to get all objects colliding with this object
+     * Specify no Sides to get all objects colliding with this object. Objects are in the order they were found in
      *
      * @param side Sides to get colliding objects of
      * @return Set of all objects colliding on the Sides
      */
     public HashSet<Physics> getCollidingObjects(Side... side) {
-        HashSet<Physics> objects = new HashSet<>();
-        for (Side s : (side.length > 0 ? side : Side.values())) {
-            objects.addAll(collidingObjects.get(s));
+        HashSet<Physics> objects = new LinkedHashSet<>();
+        for (Side s : (side.length > 0 ? side : SIDES)) {
+            objects.addAll(collidingObjects.get(s.ordinal()));
         }
         return objects;
     }
@@ -726,11 +1586,11 @@ public abstract class Physics extends Box {
     /**
      * Get all the Sides the object is colliding on
      *
-     * @return Set of all colliding Sides
+     * @return Set of all colliding Sides, in the order of the Side enum
      */
     public HashSet<Side> getCollidingSides() {
-        HashSet<Side> sides = new HashSet<>();
-        for (Side side : Side.values()) if (isColliding(side)) sides.add(side);
+        HashSet<Side> sides = new LinkedHashSet<>();
+        for (Side side : SIDES) if ((collidingSides & mask(side)) != 0) sides.add(side);
         return sides;
     }
 
@@ -742,16 +1602,18 @@ public abstract class Physics extends Box {
      */
     public boolean isOverlapping(Physics... physics) {
         if (physics.length == 0) return !overlappingObjects.isEmpty();
-        return overlappingObjects.containsAll(Arrays.asList(physics));
+        return containsAll(overlappingObjects, physics);
     }
 
     /**
      * Get the set of all objects overlapping this one
+     * <br>
+     * Changing the returned set does not change the object. Objects are in the order they were found in
      *
      * @return Set of overlapping objects
      */
     public HashSet<Physics> getOverlappingObjects() {
-        return overlappingObjects;
+        return new LinkedHashSet<>(overlappingObjects);
     }
 
     /**
@@ -777,15 +1639,383 @@ public abstract class Physics extends Box {
     }
 
     /**
-     * Set the objects this object is in a Scene with
+     * Set the BroadPhase of the Scene this object is in
      * <br>
      * This is only able to be called by the parent class
      *
-     * @param objects List of Physics objects
+     * @param broadPhase BroadPhase of the Scene
+     */
+    protected void setBroadPhase(BroadPhase broadPhase) {
+        this.broadPhase = broadPhase;
+    }
+
+    /**
+     * Check if the object is asleep
+     * <br>
+     * Sleeping objects skip motion and collision updates until they are woken
+     *
+     * @return True if the object is asleep
+     */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Wake the object and every sleeping object in its island
+     * <br>
+     * This is done automatically when an awake object touches it, or when its position, velocity, acceleration,
+     * gravity, or kinematic Axes are set
+     *
+     * @return This Physics object
+     */
+    public Physics wake() {
+        if (!sleeping && (!isStatic() || !hasSleepingContact())) return this;
+        sleeping = false;
+        calmTicks = 0;
+        int size = 0;
+        Physics physics = this;
+        while (physics != null) {
+            for (int i = 0; i < SIDES.length; i++) {
+                ArrayList<Physics> objects = physics.collidingObjects.get(i);
+                for (int j = 0; j < objects.size(); j++) {
+                    Physics colliding = objects.get(j);
+                    if (colliding.sleeping) {
+                        colliding.sleeping = false;
+                        colliding.calmTicks = 0;
+                        if (size == woken.length) woken = Arrays.copyOf(woken, Math.max(4, size * 2));
+                        woken[size++] = colliding;
+                    }
+                }
+            }
+            for (int i = 0; i < physics.overlappingObjects.size(); i++) {
+                Physics overlapping = physics.overlappingObjects.get(i);
+                if (overlapping.sleeping) {
+                    overlapping.sleeping = false;
+                    overlapping.calmTicks = 0;
+                    if (size == woken.length) woken = Arrays.copyOf(woken, Math.max(4, size * 2));
+                    woken[size++] = overlapping;
+                }
+            }
+            if (size == 0) break;
+            physics = woken[--size];
+            woken[size] = null;
+        }
+        return this;
+    }
+
+    /**
+     * Check if any object this object is colliding with or overlapping is asleep
+     *
+     * @return True if an object touching this object is asleep
+     */
+    private boolean hasSleepingContact() {
+        for (int i = 0; i < SIDES.length; i++) {
+            ArrayList<Physics> objects = collidingObjects.get(i);
+            for (int j = 0; j < objects.size(); j++) if (objects.get(j).sleeping) return true;
+        }
+        for (int i = 0; i < overlappingObjects.size(); i++) if (overlappingObjects.get(i).sleeping) return true;
+        return false;
+    }
+
+    /**
+     * Get the position of the object between where it was when the most recent tick started and where it is now
+     * <br>
+     * This is used to draw objects smoothly when the Scene ticks less often than it renders. Setting the position
+     * directly moves both ends, so objects placed somewhere new are not drawn on their way there
+     *
+     * @param alpha Fraction of the way from the previous position to the current position, from 0 to 1
+     * @return Interpolated position
+     */
+    public Vector getInterpolatedPosition(float alpha) {
+        if (Float.compare(alpha, 1) >= 0) return getPosition();
+        float x = getPosition(Axis.X), y = getPosition(Axis.Y), z = getPosition(Axis.Z);
+        float[] from = previousPosition;
+        return new Vector(from[0] + ((x - from[0]) * alpha), from[1] + ((y - from[1]) * alpha),
+                from[2] + ((z - from[2]) * alpha));
+    }
+
+    /**
+     * Get the position of the object between where it was when the most recent tick started and where it is now,
+     * storing it in a MutableVector instead of creating a new Vector
+     *
+     * @param alpha  Fraction of the way from the previous position to the current position, from 0 to 1
+     * @param output MutableVector to store the interpolated position in
+     * @return The output MutableVector
+     */
+    public MutableVector getInterpolatedPosition(float alpha, MutableVector output) {
+        float x = getPosition(Axis.X), y = getPosition(Axis.Y), z = getPosition(Axis.Z);
+        if (Float.compare(alpha, 1) >= 0) return output.set(x, y, z);
+        float[] from = previousPosition;
+        return output.set(from[0] + ((x - from[0]) * alpha), from[1] + ((y - from[1]) * alpha),
+                from[2] + ((z - from[2]) * alpha));
+    }
+
+    /**
+     * Set the position of the object, update the BroadPhase, and wake the object
+     *
+     * @param position New position
+     * @return This Physics object
+     */
+    @Override
+    public Box setPosition(Vector position) {
+        move(position);
+        for (Axis axis : AXES) {
+            start[axis.ordinal()] = getPosition(axis);
+            previousPosition[axis.ordinal()] = getPosition(axis);
+        }
+        wake();
+        return this;
+    }
+
+    /**
+     * Set the position of the object on a specific Axis, update the BroadPhase, and wake the object
+     *
+     * @param axis     Axis to set position for
+     * @param position New position on the Axis
+     * @return This Physics object
+     */
+    @Override
+    public Box setPosition(Axis axis, float position) {
+        move(axis, position);
+        start[axis.ordinal()] = position;
+        previousPosition[axis.ordinal()] = position;
+        wake();
+        return this;
+    }
+
+    /**
+     * Set the position of the object from a physics update and update the BroadPhase
+     * <br>
+     * While the BroadPhase defers updates, the object is only marked as moved
+     *
+     * @param position New position
+     */
+    private void move(Vector position) {
+        super.setPosition(position);
+        moved();
+    }
+
+    /**
+     * Set the position of the object on a specific Axis from a physics update and update the BroadPhase
+     *
+     * @param axis     Axis to set position for
+     * @param position New position on the Axis
+     */
+    private void move(Axis axis, float position) {
+        super.setPosition(axis, position);
+        moved();
+    }
+
+    /**
+     * Update the BroadPhase after the object moved, or mark the object as moved while updates are deferred
+     */
+    private void moved() {
+        if (broadPhase != null) {
+            if (broadPhase.deferred) moved = true;
+            else broadPhase.update(this);
+        }
+    }
+
+    /**
+     * Update the BroadPhase if the object moved while updates were deferred
+     */
+    void flushMove() {
+        if (!moved) return;
+        moved = false;
+        if (broadPhase != null) broadPhase.update(this);
+    }
+
+    /**
+     * Get the number of bytes writeSettings needs for the settings of the object
+     *
+     * @return Size of the settings in bytes
+     */
+    int getSettingsSize() {
+        return ((AXES.length + 1 + (2 * SIDES.length)) * Float.BYTES) + (5 * Integer.BYTES) + 1;
+    }
+
+    /**
+     * Write the settings of the object into a buffer, which are everything writeState leaves out
+     * <br>
+     * This covers the dimensions, mass, drag, friction, collideable Sides, collision layers and mask, kinematic and
+     * pushable Axes, and whether the object is continuous
+     *
+     * @param buffer Buffer to write to, with room for the settings
+     */
+    void writeSettings(ByteBuffer buffer) {
+        for (Axis axis : AXES) buffer.putFloat(getDimensions(axis));
+        buffer.putFloat(mass);
+        for (float d : drag) buffer.putFloat(d);
+        for (float f : friction) buffer.putFloat(f);
+        buffer.putInt(collidableSides).putInt(collisionLayers).putInt(collisionMask);
+        buffer.putInt(kinematicAxes).putInt(pushableAxes);
+        buffer.put((byte) (continuous ? 1 : 0));
+    }
+
+    /**
+     * Read the settings written by writeSettings back into the object, without waking it
+     *
+     * @param buffer Buffer to read from
+     */
+    void readSettings(ByteBuffer buffer) {
+        for (Axis axis : AXES) setDimensions(axis, buffer.getFloat());
+        mass = buffer.getFloat();
+        for (int i = 0; i < drag.length; i++) drag[i] = buffer.getFloat();
+        for (int i = 0; i < friction.length; i++) friction[i] = buffer.getFloat();
+        collidableSides = buffer.getInt();
+        collisionLayers = buffer.getInt();
+        collisionMask = buffer.getInt();
+        kinematicAxes = buffer.getInt();
+        pushableAxes = buffer.getInt();
+        continuous = buffer.get() != 0;
+    }
+
+    /**
+     * Get the number of bytes writeState needs for the current state of the object
+     *
+     * @return Size of the state in bytes
+     */
+    int getStateSize() {
+        int size = (12 * Float.BYTES) + 1 + (2 * Integer.BYTES) + ((SIDES.length + 1) * Integer.BYTES);
+        for (int i = 0; i < collidingObjects.size(); i++) size += collidingObjects.get(i).size() * Integer.BYTES;
+        return size + (overlappingObjects.size() * Integer.BYTES);
+    }
+
+    /**
+     * Write the state that changes as the object ticks into a buffer
+     * <br>
+     * This covers the position, velocity, acceleration, gravity, sleep state, and contacts of the object, but not
+     * settings like mass, drag, or friction. Objects in contact are written as their index in the given objects, and
+     * objects not among them are left out
+     *
+     * @param buffer  Buffer to write to, with room for the state
+     * @param objects Objects being written, each at the index of its order
+     * @param count   Number of objects being written
+     */
+    void writeState(ByteBuffer buffer, Physics[] objects, int count) {
+        for (Axis axis : AXES) buffer.putFloat(getPosition(axis));
+        buffer.putFloat(velocity[0]).putFloat(velocity[1]).putFloat(velocity[2]);
+        buffer.putFloat(acceleration.getX()).putFloat(acceleration.getY()).putFloat(acceleration.getZ());
+        buffer.putFloat(gravity.getX()).putFloat(gravity.getY()).putFloat(gravity.getZ());
+        buffer.put((byte) (sleeping ? 1 : 0)).putInt(calmTicks).putInt(collidingSides);
+        for (int i = 0; i < collidingObjects.size(); i++) writeObjects(buffer, collidingObjects.get(i), objects, count);
+        writeObjects(buffer, overlappingObjects, objects, count);
+    }
+
+    /**
+     * Write a list of objects into a buffer as their indices
+     *
+     * @param buffer  Buffer to write to
+     * @param list    Objects to write
+     * @param objects Objects being written, each at the index of its order
+     * @param count   Number of objects being written
+     */
+    private static void writeObjects(ByteBuffer buffer, ArrayList<Physics> list, Physics[] objects, int count) {
+        int start = buffer.position();
+        buffer.putInt(0);
+        int written = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Physics physics = list.get(i);
+            if (physics.order < 0 || physics.order >= count || objects[physics.order] != physics) continue;
+            buffer.putInt(physics.order);
+            written++;
+        }
+        buffer.putInt(start, written);
+    }
+
+    /**
+     * Read the state written by writeState back into the object, without waking it
+     *
+     * @param buffer  Buffer to read from
+     * @param objects Objects that were written, each at the index it was written as
+     */
+    void readState(ByteBuffer buffer, Physics[] objects) {
+        float x = buffer.getFloat(), y = buffer.getFloat(), z = buffer.getFloat();
+        if (Float.compare(x, getPosition(Axis.X)) != 0) move(Axis.X, x);
+        if (Float.compare(y, getPosition(Axis.Y)) != 0) move(Axis.Y, y);
+        if (Float.compare(z, getPosition(Axis.Z)) != 0) move(Axis.Z, z);
+        for (Axis axis : AXES) {
+            start[axis.ordinal()] = getPosition(axis);
+            previousPosition[axis.ordinal()] = getPosition(axis);
+        }
+        for (int i = 0; i < AXES.length; i++) velocity[i] = buffer.getFloat();
+        velocityVector = null;
+        acceleration = readVector(buffer, acceleration);
+        gravity = readVector(buffer, gravity);
+        sleeping = buffer.get() != 0;
+        calmTicks = buffer.getInt();
+        collidingSides = buffer.getInt();
+        for (int i = 0; i < collidingObjects.size(); i++) readObjects(buffer, collidingObjects.get(i), objects);
+        readObjects(buffer, overlappingObjects, objects);
+        specialCollisions.clear();
+        stackSides = 0;
+        transferCount = 0;
+    }
+
+    /**
+     * Read a Vector from a buffer, only creating a new Vector if it differs from the current one
+     *
+     * @param buffer  Buffer to read from
+     * @param current Current Vector, which may be shared with other objects
+     * @return Current Vector if it is unchanged, otherwise a new Vector
+     */
+    private static Vector readVector(ByteBuffer buffer, Vector current) {
+        float x = buffer.getFloat(), y = buffer.getFloat(), z = buffer.getFloat();
+        if (Float.compare(x, current.getX()) == 0 && Float.compare(y, current.getY()) == 0
+                && Float.compare(z, current.getZ()) == 0) return current;
+        return new Vector(x, y, z);
+    }
+
+    /**
+     * Read a list of objects written as their indices from a buffer
+     *
+     * @param buffer  Buffer to read from
+     * @param list    List to fill, which is cleared first
+     * @param objects Objects that were written, each at the index it was written as
+     */
+    private static void readObjects(ByteBuffer buffer, ArrayList<Physics> list, Physics[] objects) {
+        list.clear();
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) list.add(objects[buffer.getInt()]);
+    }
+
+    /**
+     * Set the width of the object and update the BroadPhase
+     *
+     * @param width New width of the object
+     * @return This Physics object
+     */
+    @Override
+    public Box setWidth(float width) {
+        super.setWidth(width);
+        if (broadPhase != null) broadPhase.update(this);
+        return this;
+    }
+
+    /**
+     * Set the height of the object and update the BroadPhase
+     *
+     * @param height New height of the object
+     * @return This Physics object
+     */
+    @Override
+    public Box setHeight(float height) {
+        super.setHeight(height);
+        if (broadPhase != null) broadPhase.update(this);
+        return this;
+    }
+
+    /**
+     * Set the depth of the object and update the BroadPhase
+     *
+     * @param depth New depth of the object
+     * @return This Physics object
      */
-    @SuppressWarnings("unchecked")
-    protected void setSceneObjects(LinkedList<? extends Physics> objects) {
-        this.sceneObjects = (LinkedList<Physics>) objects;
+    @Override
+    public Box setDepth(float depth) {
+        super.setDepth(depth);
+        if (broadPhase != null) broadPhase.update(this);
+        return this;
     }
 
     /**
@@ -800,17 +2030,64 @@ public abstract class Physics extends Box {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         Physics physics = (Physics) o;
-        return updatable == physics.updatable &&
-                Objects.equals(velocity, physics.velocity) &&
+        if (!(updatable == physics.updatable &&
+                continuous == physics.continuous &&
+                Arrays.equals(velocity, physics.velocity) &&
                 Objects.equals(acceleration, physics.acceleration) &&
                 Objects.equals(gravity, physics.gravity) &&
                 Float.compare(physics.mass, mass) == 0 &&
-                Objects.equals(drag, physics.drag) &&
-                Objects.equals(friction, physics.friction) &&
-                Objects.equals(collidableSides, physics.collidableSides) &&
-                Objects.equals(kinematicAxes, physics.kinematicAxes) &&
-                Objects.equals(pushableAxes, physics.pushableAxes) &&
-                Objects.equals(collidingObjects, physics.collidingObjects) &&
-                Objects.equals(overlappingObjects, physics.overlappingObjects);
+                Arrays.equals(drag, physics.drag) &&
+                Arrays.equals(friction, physics.friction) &&
+                collidableSides == physics.collidableSides &&
+                collisionLayers == physics.collisionLayers &&
+                collisionMask == physics.collisionMask &&
+                kinematicAxes == physics.kinematicAxes &&
+                pushableAxes == physics.pushableAxes &&
+                collidingSides == physics.collidingSides &&
+                sameObjects(overlappingObjects, physics.overlappingObjects)))
+            return false;
+        for (int i = 0; i < collidingObjects.size(); i++)
+            if (!sameObjects(collidingObjects.get(i), physics.collidingObjects.get(i))) return false;
+        return true;
+    }
+
+    /**
+     * Check if two lists of objects without duplicates contain the same objects in any order
+     *
+     * @param a First list of objects
+     * @param b Second list of objects
+     * @return True if both lists contain the same objects
+     */
+    private static boolean sameObjects(ArrayList<Physics> a, ArrayList<Physics> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < b.size(); i++) if (!contains(a, b.get(i))) return false;
+        return true;
+    }
+
+    /**
+     * Check if a list holds an object
+     * <br>
+     * Objects are compared by identity, since equals compares every field of two objects, including the objects they
+     * touch
+     *
+     * @param list    List to check
+     * @param physics Object to find
+     * @return True if the list holds the object
+     */
+    private static boolean contains(ArrayList<Physics> list, Physics physics) {
+        for (int i = 0; i < list.size(); i++) if (list.get(i) == physics) return true;
+        return false;
+    }
+
+    /**
+     * Check if a list holds all of a set of objects, comparing them by identity
+     *
+     * @param list    List to check
+     * @param physics Objects to find
+     * @return True if the list holds every object
+     */
+    private static boolean containsAll(ArrayList<Physics> list, Physics... physics) {
+        for (Physics p : physics) if (!contains(list, p)) return false;
+        return true;
     }
 }
@@ -0,0 +1,311 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import javafx.scene.paint.Color;
+import xyz.jeremynoesen.pseudo3d.core.Scene;
+import xyz.jeremynoesen.pseudo3d.core.graphics.Camera;
+import xyz.jeremynoesen.pseudo3d.core.graphics.Sprite;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Saves and loads whole Scenes in a compact versioned binary format
+ * <br>
+ * A file holds a header, the settings of the Scene and its Camera, a table of every distinct Sprite, and then the
+ * settings and state of every Entity in the order they are ticked in, with contacts and Sprites written as indices.
+ * Files are written through a FileChannel in large blocks and read back from a memory-mapped buffer, so even Scenes
+ * with many Entities load quickly. Sprites are written as the paths or color they were created from, and Sprites
+ * sharing the same images only load them once
+ *
+ * @author Jeremy Noesen
+ */
+public class SceneSerializer {
+
+    /**
+     * Magic number at the start of every file, spelling P3DS
+     */
+    private static final int MAGIC = 0x50334453;
+
+    /**
+     * Version of the format written by this class
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the blocks files are written in
+     */
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    /**
+     * Kinds of Sprites in the Sprite table
+     */
+    private static final byte COLOR = 0, IMAGE = 1, ANIMATION = 2;
+
+    /**
+     * Channel being written to
+     */
+    private final FileChannel channel;
+
+    /**
+     * Buffer holding the block being written
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Create a new SceneSerializer writing to a channel
+     *
+     * @param channel Channel to write to
+     */
+    private SceneSerializer(FileChannel channel) {
+        this.channel = channel;
+        buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+    }
+
+    /**
+     * Save a Scene to a file, replacing the file if it exists
+     * <br>
+     * Runnables, the BroadPhase, and the settings of the Motion, Collisions, and Islands are not saved
+     *
+     * @param scene Scene to save
+     * @param path  Path of the file
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(Scene scene, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            new SceneSerializer(channel).write(scene);
+        }
+    }
+
+    /**
+     * Load a Scene from a file
+     * <br>
+     * The Entities are restored without waking them, along with the contacts between them
+     *
+     * @param path Path of the file
+     * @return Loaded Scene
+     * @throws IOException If the file cannot be read, is not a Scene file, or has an unsupported version
+     */
+    public static Scene load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write a Scene to the channel
+     *
+     * @param scene Scene to write
+     * @throws IOException If the channel cannot be written to
+     */
+    private void write(Scene scene) throws IOException {
+        reserve((2 * Integer.BYTES) + (16 * Float.BYTES));
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putFloat(scene.getSpeed()).putFloat(scene.getLockstep());
+        writeVector(scene.getGridScale());
+        Camera camera = scene.getCamera();
+        writeVector(camera.getPosition());
+        writeVector(camera.getOffset());
+        buffer.putFloat(camera.getSensorSize()).putFloat(camera.getFieldOfView()).putFloat(camera.getViewDistance());
+        buffer.putFloat(camera.getZoom()).putFloat(camera.getRotation());
+
+        List<Entity> entities = scene.getEntities();
+        IdentityHashMap<Sprite, Integer> indices = new IdentityHashMap<>();
+        ArrayList<Sprite> sprites = new ArrayList<>();
+        index(scene.getBackground(), indices, sprites);
+        for (Entity entity : entities) index(entity.getSprite(), indices, sprites);
+        reserve(Integer.BYTES);
+        buffer.putInt(sprites.size());
+        for (Sprite sprite : sprites) writeSprite(sprite);
+        reserve(Integer.BYTES);
+        buffer.putInt(scene.getBackground() != null ? indices.get(scene.getBackground()) : -1);
+
+        Entity[] array = entities.toArray(new Entity[0]);
+        for (int i = 0; i < array.length; i++) array[i].order = i;
+        reserve(Integer.BYTES);
+        buffer.putInt(array.length);
+        for (Entity entity : array) {
+            reserve(entity.getSettingsSize() + entity.getStateSize() + Integer.BYTES);
+            entity.writeSettings(buffer);
+            entity.writeState(buffer, array, array.length);
+            buffer.putInt(entity.getSprite() != null ? indices.get(entity.getSprite()) : -1);
+        }
+        flush();
+    }
+
+    /**
+     * Add a Sprite to the Sprite table, unless it is null or already in it
+     *
+     * @param sprite  Sprite to add
+     * @param indices Index of every Sprite in the table
+     * @param sprites Sprites in the table
+     */
+    private static void index(Sprite sprite, IdentityHashMap<Sprite, Integer> indices, ArrayList<Sprite> sprites) {
+        if (sprite == null || indices.containsKey(sprite)) return;
+        indices.put(sprite, sprites.size());
+        sprites.add(sprite);
+    }
+
+    /**
+     * Write a Sprite of the Sprite table
+     *
+     * @param sprite Sprite to write
+     * @throws IOException If the channel cannot be written to
+     */
+    private void writeSprite(Sprite sprite) throws IOException {
+        String[] sources = sprite.getSources();
+        byte[][] paths = new byte[sources != null ? sources.length : 0][];
+        int size = 1 + Integer.BYTES + (4 * Double.BYTES) + (4 * Float.BYTES) + 2;
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = sources[i].getBytes(StandardCharsets.UTF_8);
+            size += Integer.BYTES + paths[i].length;
+        }
+        reserve(size);
+
+        if (sources == null) {
+            Color color = sprite.getColor() != null ? sprite.getColor() : Color.TRANSPARENT;
+            buffer.put(COLOR);
+            buffer.putDouble(color.getRed()).putDouble(color.getGreen()).putDouble(color.getBlue());
+            buffer.putDouble(color.getOpacity());
+        } else {
+            buffer.put(sprite.isAnimated() ? ANIMATION : IMAGE);
+            buffer.putInt(paths.length);
+            for (byte[] path : paths) buffer.putInt(path.length).put(path);
+        }
+        buffer.putFloat(sprite.getWidth()).putFloat(sprite.getHeight()).putFloat(sprite.getRotation());
+        if (sprite.isAnimated()) {
+            buffer.putFloat(sprite.getFramerate()).putFloat(sprite.getCurrentFrame());
+            buffer.put((byte) (sprite.canLoop() ? 1 : 0)).put((byte) (sprite.isPaused() ? 1 : 0));
+        }
+    }
+
+    /**
+     * Write a Vector
+     *
+     * @param vector Vector to write
+     */
+    private void writeVector(Vector vector) {
+        buffer.putFloat(vector.getX()).putFloat(vector.getY()).putFloat(vector.getZ());
+    }
+
+    /**
+     * Make sure the buffer has room for a number of bytes, writing out the current block or growing the buffer if not
+     *
+     * @param bytes Number of bytes needed
+     * @throws IOException If the channel cannot be written to
+     */
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        flush();
+        if (buffer.capacity() < bytes) buffer = ByteBuffer.allocateDirect(bytes);
+    }
+
+    /**
+     * Write the current block to the channel
+     *
+     * @throws IOException If the channel cannot be written to
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Read a Scene from a buffer
+     *
+     * @param buffer Buffer holding the whole file
+     * @return Loaded Scene
+     * @throws IOException If the buffer does not hold a Scene file of a supported version
+     */
+    private static Scene read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC)
+            throw new IOException("Cannot load a file that is not a Scene file");
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IOException("Cannot load a Scene file of version " + version);
+
+        Scene scene = new Scene();
+        scene.setSpeed(buffer.getFloat());
+        scene.setLockstep(buffer.getFloat());
+        scene.setGridScale(readVector(buffer));
+        Vector position = readVector(buffer), offset = readVector(buffer);
+        scene.setCamera(new Camera(position, offset, buffer.getFloat(), buffer.getFloat(), buffer.getFloat(),
+                buffer.getFloat(), buffer.getFloat()));
+
+        Sprite[] sprites = new Sprite[buffer.getInt()];
+        HashMap<List<String>, Sprite> loaded = new HashMap<>();
+        for (int i = 0; i < sprites.length; i++) sprites[i] = readSprite(buffer, loaded);
+        int background = buffer.getInt();
+        if (background >= 0) scene.setBackground(sprites[background]);
+
+        Entity[] entities = new Entity[buffer.getInt()];
+        for (int i = 0; i < entities.length; i++) entities[i] = new Entity();
+        for (Entity entity : entities) {
+            entity.readSettings(buffer);
+            entity.readState(buffer, entities);
+            int sprite = buffer.getInt();
+            if (sprite >= 0) entity.setSprite(sprites[sprite]);
+        }
+        scene.addEntity(entities);
+        return scene;
+    }
+
+    /**
+     * Read a Sprite of the Sprite table, reusing the images of an earlier Sprite with the same paths
+     *
+     * @param buffer Buffer to read from
+     * @param loaded Sprites already loaded from files, by their kind and paths
+     * @return Loaded Sprite
+     * @throws IOException If an image of the Sprite cannot be found
+     */
+    private static Sprite readSprite(ByteBuffer buffer, HashMap<List<String>, Sprite> loaded) throws IOException {
+        byte kind = buffer.get();
+        Sprite sprite;
+        if (kind == COLOR) {
+            Color color = new Color(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+            sprite = new Sprite(0, 0, color);
+        } else {
+            String[] sources = new String[buffer.getInt()];
+            for (int i = 0; i < sources.length; i++) {
+                byte[] path = new byte[buffer.getInt()];
+                buffer.get(path);
+                sources[i] = new String(path, StandardCharsets.UTF_8);
+            }
+            List<String> key = new ArrayList<>(Arrays.asList(sources));
+            key.add(Byte.toString(kind));
+            Sprite original = loaded.get(key);
+            if (original != null) sprite = new Sprite(original);
+            else if (kind == ANIMATION) sprite = new Sprite(0, 0, 1, false, sources);
+            else sprite = new Sprite(0, 0, sources[0]);
+            if (original == null) loaded.put(key, sprite);
+        }
+        sprite.setWidth(buffer.getFloat()).setHeight(buffer.getFloat()).setRotation(buffer.getFloat());
+        if (kind == ANIMATION) {
+            sprite.setFramerate(buffer.getFloat());
+            float frame = buffer.getFloat();
+            sprite.setLoop(buffer.get() != 0).setPaused(buffer.get() != 0).setCurrentFrame(frame);
+        }
+        return sprite;
+    }
+
+    /**
+     * Read a Vector
+     *
+     * @param buffer Buffer to read from
+     * @return Vector read
+     */
+    private static Vector readVector(ByteBuffer buffer) {
+        return new Vector(buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+    }
+}
@@ -0,0 +1,184 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ring buffer of binary snapshots of the state of a list of Entities, one per tick, used to rewind a Scene
+ * <br>
+ * Each snapshot holds the position, velocity, acceleration, gravity, sleep state, contacts, and Sprite animation state
+ * of every Entity, written into a buffer that is reused once the ring wraps around. Capturing and restoring only
+ * allocate when a snapshot needs more room than its buffer has, so they are cheap enough to run every tick. Settings
+ * like mass, drag, or friction are not captured
+ *
+ * @author Jeremy Noesen
+ */
+public class SnapshotBuffer {
+
+    /**
+     * Number of bytes each buffer starts with
+     */
+    private static final int INITIAL_SIZE = 1024;
+
+    /**
+     * Buffer of each snapshot
+     */
+    private final ByteBuffer[] buffers;
+
+    /**
+     * Entities of each snapshot, in the order they were captured in
+     */
+    private final Entity[][] entities;
+
+    /**
+     * Number of Entities in each snapshot
+     */
+    private final int[] counts;
+
+    /**
+     * Tick of each snapshot
+     */
+    private final int[] ticks;
+
+    /**
+     * Whether each slot holds a snapshot
+     */
+    private final boolean[] filled;
+
+    /**
+     * Create a new empty SnapshotBuffer
+     *
+     * @param capacity Number of ticks to keep snapshots of
+     */
+    public SnapshotBuffer(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Cannot set capacity below 1");
+        buffers = new ByteBuffer[capacity];
+        entities = new Entity[capacity][];
+        counts = new int[capacity];
+        ticks = new int[capacity];
+        filled = new boolean[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buffers[i] = ByteBuffer.allocate(INITIAL_SIZE);
+            entities[i] = new Entity[0];
+        }
+    }
+
+    /**
+     * Capture a snapshot of the Entities, replacing the oldest snapshot once the buffer is full
+     *
+     * @param entities Entities in the order they are ticked in
+     * @param tick     Tick the snapshot is taken at
+     */
+    public void capture(List<Entity> entities, int tick) {
+        int slot = Math.floorMod(tick, buffers.length);
+        int size = entities.size();
+        Entity[] array = this.entities[slot];
+        if (array.length < size) array = this.entities[slot] = Arrays.copyOf(array, Math.max(size, array.length * 2));
+
+        int i = 0, bytes = 0;
+        for (Entity entity : entities) {
+            entity.order = i;
+            array[i++] = entity;
+            bytes += entity.getStateSize();
+        }
+        for (int j = size; j < counts[slot]; j++) array[j] = null;
+
+        ByteBuffer buffer = buffers[slot];
+        if (buffer.capacity() < bytes) buffer = buffers[slot] = ByteBuffer.allocate(Math.max(bytes, buffer.capacity() * 2));
+        buffer.clear();
+        for (i = 0; i < size; i++) array[i].writeState(buffer, array, size);
+
+        counts[slot] = size;
+        ticks[slot] = tick;
+        filled[slot] = true;
+    }
+
+    /**
+     * Restore the Entities of a snapshot to the state they were in when it was captured
+     * <br>
+     * Entities are not woken, and the Entities are not put back into a Scene
+     *
+     * @param tick Tick of the snapshot
+     */
+    public void restore(int tick) {
+        int slot = find(tick);
+        ByteBuffer buffer = buffers[slot];
+        buffer.flip();
+        Entity[] array = entities[slot];
+        for (int i = 0; i < counts[slot]; i++) array[i].readState(buffer, array);
+        buffer.limit(buffer.capacity());
+    }
+
+    /**
+     * Check if there is a snapshot of a tick
+     *
+     * @param tick Tick to check
+     * @return True if a snapshot of the tick is kept
+     */
+    public boolean contains(int tick) {
+        int slot = Math.floorMod(tick, buffers.length);
+        return filled[slot] && ticks[slot] == tick;
+    }
+
+    /**
+     * Get the Entities of a snapshot, in the order they were captured in
+     *
+     * @param tick Tick of the snapshot
+     * @return Unmodifiable list of Entities
+     */
+    public List<Entity> getEntities(int tick) {
+        int slot = find(tick);
+        return Collections.unmodifiableList(Arrays.asList(entities[slot]).subList(0, counts[slot]));
+    }
+
+    /**
+     * Forget the snapshots of every tick after a tick, such as after rewinding to it
+     *
+     * @param tick Last tick to keep
+     */
+    public void discardAfter(int tick) {
+        for (int i = 0; i < buffers.length; i++) if (filled[i] && ticks[i] > tick) forget(i);
+    }
+
+    /**
+     * Forget every snapshot
+     */
+    public void clear() {
+        for (int i = 0; i < buffers.length; i++) forget(i);
+    }
+
+    /**
+     * Get the number of ticks snapshots are kept of
+     *
+     * @return Capacity of the buffer
+     */
+    public int getCapacity() {
+        return buffers.length;
+    }
+
+    /**
+     * Get the slot of the snapshot of a tick
+     *
+     * @param tick Tick of the snapshot
+     * @return Slot of the snapshot
+     */
+    private int find(int tick) {
+        if (!contains(tick))
+            throw new IllegalArgumentException("Cannot find a snapshot of tick " + tick);
+        return Math.floorMod(tick, buffers.length);
+    }
+
+    /**
+     * Empty a slot, letting go of its Entities
+     *
+     * @param slot Slot to empty
+     */
+    private void forget(int slot) {
+        Arrays.fill(entities[slot], 0, counts[slot], null);
+        counts[slot] = 0;
+        filled[slot] = false;
+    }
+}
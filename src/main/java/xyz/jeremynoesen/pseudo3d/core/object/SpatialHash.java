@@ -0,0 +1,518 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Axis;
+import xyz.jeremynoesen.pseudo3d.core.util.Box;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * BroadPhase that sorts objects into a uniform grid of cells, so only objects sharing a cell are candidates
+ *
+ * @author Jeremy Noesen
+ */
+public class SpatialHash extends BroadPhase {
+
+    /**
+     * Maximum number of cells an object can span before it is kept outside the grid
+     */
+    private static final int MAX_CELLS = 512;
+
+    /**
+     * Cell size used when there are no objects with dimensions to derive one from
+     */
+    private static final float DEFAULT_CELL_SIZE = 1;
+
+    /**
+     * Initial capacity of the cell table
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Occupied cells in an open addressing table keyed by packed cell coordinates, so looking up a cell does not box
+     * its key
+     */
+    private Cell[] cells;
+
+    /**
+     * Number of occupied cells
+     */
+    private int cellCount;
+
+    /**
+     * Emptied cells kept to be reused, so objects moving between cells do not allocate new ones
+     */
+    private final ArrayList<Cell> spareCells;
+
+    /**
+     * Entries of all objects in the grid
+     */
+    private final IdentityHashMap<Physics, Entry> entries;
+
+    /**
+     * Entries of objects too large to be placed in cells
+     */
+    private final ArrayList<Entry> large;
+
+    /**
+     * Length of the sides of each cell in grid units
+     */
+    private float cellSize;
+
+    /**
+     * Whether the cell size is derived from the dimensions of the objects
+     */
+    private boolean automatic;
+
+    /**
+     * Sum of the largest dimension of all objects
+     */
+    private double extentSum;
+
+    /**
+     * Range of cells spanned by the Box of the current update
+     */
+    private final Entry range;
+
+    /**
+     * Create a new SpatialHash with a cell size derived from the dimensions of its objects
+     */
+    public SpatialHash() {
+        super();
+        cells = new Cell[INITIAL_CAPACITY];
+        cellCount = 0;
+        spareCells = new ArrayList<>();
+        entries = new IdentityHashMap<>();
+        large = new ArrayList<>();
+        cellSize = DEFAULT_CELL_SIZE;
+        automatic = true;
+        extentSum = 0;
+        range = new Entry(null);
+    }
+
+    /**
+     * Create a new SpatialHash with a fixed cell size
+     *
+     * @param cellSize Length of the sides of each cell in grid units
+     */
+    public SpatialHash(float cellSize) {
+        this();
+        setCellSize(cellSize);
+    }
+
+    /**
+     * Add a Physics object to the grid
+     *
+     * @param physics Physics object to add
+     */
+    @Override
+    public void add(Physics physics) {
+        if (entries.containsKey(physics)) {
+            update(physics);
+            return;
+        }
+        Entry entry = new Entry(physics);
+        entries.put(physics, entry);
+        entry.extent = getExtent(physics);
+        extentSum += entry.extent;
+        if (!resize()) insert(entry);
+    }
+
+    /**
+     * Remove a Physics object from the grid
+     *
+     * @param physics Physics object to remove
+     */
+    @Override
+    public void remove(Physics physics) {
+        Entry entry = entries.remove(physics);
+        if (entry == null) return;
+        extract(entry);
+        extentSum -= entry.extent;
+        if (entries.isEmpty()) extentSum = 0;
+        resize();
+    }
+
+    /**
+     * Move a Physics object to the cells it now spans
+     *
+     * @param physics Physics object that changed
+     */
+    @Override
+    public void update(Physics physics) {
+        Entry entry = entries.get(physics);
+        if (entry == null) return;
+        float extent = getExtent(physics);
+        if (Float.compare(extent, entry.extent) != 0) {
+            extentSum += extent - entry.extent;
+            entry.extent = extent;
+            if (resize()) return;
+        }
+        span(physics, range);
+        if (!entry.large && range.minX == entry.minX && range.maxX == entry.maxX && range.minY == entry.minY &&
+                range.maxY == entry.maxY && range.minZ == entry.minZ && range.maxZ == entry.maxZ) return;
+        extract(entry);
+        insert(entry);
+    }
+
+    /**
+     * Remove all Physics objects from the grid
+     */
+    @Override
+    public void clear() {
+        clearCells();
+        entries.clear();
+        large.clear();
+        extentSum = 0;
+        if (automatic) cellSize = DEFAULT_CELL_SIZE;
+    }
+
+    /**
+     * Collect all objects sharing a cell with a Box
+     * <br>
+     * Objects spanning several cells are found once per cell, so duplicates are removed after sorting
+     *
+     * @param box        Box to find candidates for
+     * @param candidates Empty list to collect candidates into
+     */
+    @Override
+    protected void collect(Box box, ArrayList<Physics> candidates) {
+        int x1 = cell(box.getMinimum(Axis.X)), x2 = cell(box.getMaximum(Axis.X));
+        int y1 = cell(box.getMinimum(Axis.Y)), y2 = cell(box.getMaximum(Axis.Y));
+        int z1 = cell(box.getMinimum(Axis.Z)), z2 = cell(box.getMaximum(Axis.Z));
+        int minX = Math.min(x1, x2), maxX = Math.max(x1, x2);
+        int minY = Math.min(y1, y2), maxY = Math.max(y1, y2);
+        int minZ = Math.min(z1, z2), maxZ = Math.max(z1, z2);
+
+        if (isLarge(minX, maxX, minY, maxY, minZ, maxZ)) {
+            for (Entry entry : entries.values()) candidates.add(entry.physics);
+            sort(candidates);
+            return;
+        }
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    Cell cell = getCell(key(x, y, z));
+                    if (cell == null) continue;
+                    for (int i = 0; i < cell.entries.size(); i++) candidates.add(cell.entries.get(i).physics);
+                }
+            }
+        }
+        for (int i = 0; i < large.size(); i++) candidates.add(large.get(i).physics);
+
+        sort(candidates);
+        int size = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            Physics physics = candidates.get(i);
+            if (size == 0 || candidates.get(size - 1) != physics) candidates.set(size++, physics);
+        }
+        for (int i = candidates.size() - 1; i >= size; i--) candidates.remove(i);
+    }
+
+    /**
+     * Check rays one cell at a time to begin with, so short rays only collect the objects in the cells near them
+     *
+     * @return Length of the first piece in grid units
+     */
+    @Override
+    protected float getRayStep() {
+        return Float.compare(cellSize, 0) > 0 ? cellSize : super.getRayStep();
+    }
+
+    /**
+     * Get the length of the sides of each cell
+     *
+     * @return Cell size in grid units
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Set a fixed length for the sides of each cell
+     * <br>
+     * Set to 0 to derive the cell size from the dimensions of the objects
+     *
+     * @param cellSize Cell size in grid units
+     * @return This SpatialHash
+     */
+    public SpatialHash setCellSize(float cellSize) {
+        if (Float.compare(cellSize, 0) < 0)
+            throw new IllegalArgumentException("Cannot set cellSize below 0");
+        automatic = Float.compare(cellSize, 0) == 0;
+        if (!automatic) rebuild(cellSize);
+        else resize();
+        return this;
+    }
+
+    /**
+     * Rebuild the grid if the derived cell size drifted too far from the typical object dimensions
+     *
+     * @return True if the grid was rebuilt
+     */
+    private boolean resize() {
+        if (!automatic || entries.isEmpty()) return false;
+        float size = (float) (2 * extentSum / entries.size());
+        if (Float.compare(size, 0) <= 0 || !Float.isFinite(size)) size = DEFAULT_CELL_SIZE;
+        if (Float.compare(size, cellSize * 2) <= 0 && Float.compare(size, cellSize / 2) >= 0) return false;
+        rebuild(size);
+        return true;
+    }
+
+    /**
+     * Place every object back into the grid with a new cell size
+     *
+     * @param cellSize New cell size in grid units
+     */
+    private void rebuild(float cellSize) {
+        this.cellSize = cellSize;
+        clearCells();
+        large.clear();
+        for (Entry entry : entries.values()) insert(entry);
+    }
+
+    /**
+     * Place an entry into every cell its object spans
+     *
+     * @param entry Entry to place
+     */
+    private void insert(Entry entry) {
+        span(entry.physics, entry);
+        if (entry.large) {
+            large.add(entry);
+            return;
+        }
+        for (int x = entry.minX; x <= entry.maxX; x++) {
+            for (int y = entry.minY; y <= entry.maxY; y++) {
+                for (int z = entry.minZ; z <= entry.maxZ; z++) {
+                    addCell(key(x, y, z)).entries.add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove an entry from every cell it was placed in
+     *
+     * @param entry Entry to remove
+     */
+    private void extract(Entry entry) {
+        if (entry.large) {
+            large.remove(entry);
+            return;
+        }
+        for (int x = entry.minX; x <= entry.maxX; x++) {
+            for (int y = entry.minY; y <= entry.maxY; y++) {
+                for (int z = entry.minZ; z <= entry.maxZ; z++) {
+                    Cell cell = getCell(key(x, y, z));
+                    if (cell == null) continue;
+                    cell.entries.remove(entry);
+                    if (cell.entries.isEmpty()) removeCell(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Empty every cell and keep them to be reused
+     */
+    private void clearCells() {
+        for (Cell cell : cells) {
+            if (cell == null) continue;
+            cell.entries.clear();
+            spareCells.add(cell);
+        }
+        Arrays.fill(cells, null);
+        cellCount = 0;
+    }
+
+    /**
+     * Find the occupied cell with a key
+     *
+     * @param key Key of the cell
+     * @return Cell with the key, or null if it is not occupied
+     */
+    private Cell getCell(long key) {
+        int mask = cells.length - 1;
+        for (int i = slot(key, mask); cells[i] != null; i = (i + 1) & mask)
+            if (cells[i].key == key) return cells[i];
+        return null;
+    }
+
+    /**
+     * Find the cell with a key, occupying it if needed
+     *
+     * @param key Key of the cell
+     * @return Cell with the key
+     */
+    private Cell addCell(long key) {
+        Cell cell = getCell(key);
+        if (cell != null) return cell;
+        if ((cellCount + 1) * 2 > cells.length) {
+            Cell[] old = cells;
+            cells = new Cell[old.length * 2];
+            for (Cell c : old) if (c != null) place(c);
+        }
+        cell = spareCells.isEmpty() ? new Cell() : spareCells.remove(spareCells.size() - 1);
+        cell.key = key;
+        place(cell);
+        cellCount++;
+        return cell;
+    }
+
+    /**
+     * Put a cell into the first free slot for its key
+     *
+     * @param cell Cell to put in the table
+     */
+    private void place(Cell cell) {
+        int mask = cells.length - 1;
+        int i = slot(cell.key, mask);
+        while (cells[i] != null) i = (i + 1) & mask;
+        cells[i] = cell;
+    }
+
+    /**
+     * Remove an empty cell from the table, shifting back the cells after it so lookups stay correct
+     *
+     * @param cell Empty cell to remove
+     */
+    private void removeCell(Cell cell) {
+        int mask = cells.length - 1;
+        int i = slot(cell.key, mask);
+        while (cells[i] != cell) i = (i + 1) & mask;
+        cells[i] = null;
+        for (int j = (i + 1) & mask; cells[j] != null; j = (j + 1) & mask) {
+            int home = slot(cells[j].key, mask);
+            if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                cells[i] = cells[j];
+                cells[j] = null;
+                i = j;
+            }
+        }
+        cellCount--;
+        spareCells.add(cell);
+    }
+
+    /**
+     * Get the preferred slot of a key in the table
+     *
+     * @param key  Key of the cell
+     * @param mask Table length minus one
+     * @return Slot index
+     */
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Calculate the range of cells a Box spans
+     *
+     * @param box   Box to calculate the range of
+     * @param range Entry to store the range in
+     */
+    private void span(Box box, Entry range) {
+        int x1 = cell(box.getMinimum(Axis.X)), x2 = cell(box.getMaximum(Axis.X));
+        int y1 = cell(box.getMinimum(Axis.Y)), y2 = cell(box.getMaximum(Axis.Y));
+        int z1 = cell(box.getMinimum(Axis.Z)), z2 = cell(box.getMaximum(Axis.Z));
+        range.minX = Math.min(x1, x2);
+        range.maxX = Math.max(x1, x2);
+        range.minY = Math.min(y1, y2);
+        range.maxY = Math.max(y1, y2);
+        range.minZ = Math.min(z1, z2);
+        range.maxZ = Math.max(z1, z2);
+        range.large = isLarge(range.minX, range.maxX, range.minY, range.maxY, range.minZ, range.maxZ);
+    }
+
+    /**
+     * Check if a range of cells is too large to place an object into
+     *
+     * @return True if the range spans more than the maximum number of cells
+     */
+    private static boolean isLarge(int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+        return ((long) maxX - minX + 1) * ((long) maxY - minY + 1) * ((long) maxZ - minZ + 1) > MAX_CELLS;
+    }
+
+    /**
+     * Get the cell coordinate of a position on an Axis
+     *
+     * @param position Position in grid units
+     * @return Cell coordinate
+     */
+    private int cell(float position) {
+        return (int) Math.floor(position / cellSize);
+    }
+
+    /**
+     * Pack cell coordinates into a single key
+     *
+     * @return Key of the cell
+     */
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (z & 0x1FFFFF);
+    }
+
+    /**
+     * Get the largest dimension of an object
+     *
+     * @param physics Physics object
+     * @return Largest dimension in grid units
+     */
+    private static float getExtent(Physics physics) {
+        return Math.max(physics.getWidth(), Math.max(physics.getHeight(), physics.getDepth()));
+    }
+
+    /**
+     * Cell of the grid and the objects in it
+     */
+    private static class Cell {
+
+        /**
+         * Packed coordinates of the cell
+         */
+        private long key;
+
+        /**
+         * Entries of the objects in the cell
+         */
+        private final ArrayList<Entry> entries = new ArrayList<>();
+    }
+
+    /**
+     * Object in the grid and the range of cells it spans
+     */
+    private static class Entry {
+
+        /**
+         * Physics object of the entry
+         */
+        private final Physics physics;
+
+        /**
+         * Range of cells spanned by the object
+         */
+        private int minX, maxX, minY, maxY, minZ, maxZ;
+
+        /**
+         * Largest dimension of the object when it was last updated
+         */
+        private float extent;
+
+        /**
+         * Whether the object is kept outside the grid
+         */
+        private boolean large;
+
+        /**
+         * Create a new Entry for a Physics object
+         *
+         * @param physics Physics object of the entry
+         */
+        private Entry(Physics physics) {
+            this.physics = physics;
+        }
+    }
+}
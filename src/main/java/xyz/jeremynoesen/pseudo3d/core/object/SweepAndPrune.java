@@ -0,0 +1,357 @@
+package xyz.jeremynoesen.pseudo3d.core.object;
+
+import xyz.jeremynoesen.pseudo3d.core.util.Axis;
+import xyz.jeremynoesen.pseudo3d.core.util.Box;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * BroadPhase that keeps objects sorted by their minimum on one Axis, so only objects whose intervals overlap on that
+ * Axis are candidates
+ * <br>
+ * Objects barely change order between ticks, so the sort is kept up to date with insertion sort as they move, which
+ * only swaps the few entries that actually passed each other
+ *
+ * @author Jeremy Noesen
+ */
+public class SweepAndPrune extends BroadPhase {
+
+    /**
+     * How much larger the spread on another Axis must be before switching to it
+     */
+    private static final float AXIS_HYSTERESIS = 1.25f;
+
+    /**
+     * Comparator used to sort entries by their minimum on the sorting Axis
+     */
+    private static final Comparator<Entry> MINIMUM = (o1, o2) -> Float.compare(o1.min, o2.min);
+
+    /**
+     * Entries of all objects, sorted by their minimum on the sorting Axis
+     */
+    private final ArrayList<Entry> sorted;
+
+    /**
+     * Entries of all objects
+     */
+    private final IdentityHashMap<Physics, Entry> entries;
+
+    /**
+     * Axis the objects are sorted on
+     */
+    private Axis axis;
+
+    /**
+     * Whether the sorting Axis is chosen automatically
+     */
+    private boolean automatic;
+
+    /**
+     * Largest length of any object along the sorting Axis
+     */
+    private float maxLength;
+
+    /**
+     * Whether entries were added since the last full sort
+     */
+    private boolean dirty;
+
+    /**
+     * Sums of object centers per Axis, used to find the dominant Axis
+     */
+    private final double[] sums;
+
+    /**
+     * Sums of squared object centers per Axis, used to find the dominant Axis
+     */
+    private final double[] squares;
+
+    /**
+     * Create a new SweepAndPrune that sorts on the Axis the objects are most spread out on
+     */
+    public SweepAndPrune() {
+        super();
+        sorted = new ArrayList<>();
+        entries = new IdentityHashMap<>();
+        axis = Axis.X;
+        automatic = true;
+        maxLength = 0;
+        dirty = false;
+        sums = new double[3];
+        squares = new double[3];
+    }
+
+    /**
+     * Create a new SweepAndPrune that always sorts on one Axis
+     *
+     * @param axis Axis to sort on
+     */
+    public SweepAndPrune(Axis axis) {
+        this();
+        setAxis(axis);
+    }
+
+    /**
+     * Add a Physics object to the sorted list
+     *
+     * @param physics Physics object to add
+     */
+    @Override
+    public void add(Physics physics) {
+        if (entries.containsKey(physics)) {
+            update(physics);
+            return;
+        }
+        Entry entry = new Entry(physics);
+        entries.put(physics, entry);
+        refresh(entry);
+        sorted.add(entry);
+        dirty = true;
+    }
+
+    /**
+     * Remove a Physics object from the sorted list
+     *
+     * @param physics Physics object to remove
+     */
+    @Override
+    public void remove(Physics physics) {
+        Entry entry = entries.remove(physics);
+        if (entry == null) return;
+        if (dirty) {
+            sorted.remove(entry);
+        } else {
+            sorted.remove(entry.index);
+            for (int i = entry.index; i < sorted.size(); i++) sorted.get(i).index = i;
+        }
+    }
+
+    /**
+     * Move a Physics object to its new place in the sorted list
+     *
+     * @param physics Physics object that changed
+     */
+    @Override
+    public void update(Physics physics) {
+        Entry entry = entries.get(physics);
+        if (entry == null) return;
+        refresh(entry);
+        if (dirty) return;
+
+        int i = entry.index;
+        while (i > 0 && Float.compare(sorted.get(i - 1).min, entry.min) > 0) {
+            Entry previous = sorted.get(i - 1);
+            sorted.set(i, previous);
+            previous.index = i;
+            i--;
+        }
+        while (i < sorted.size() - 1 && Float.compare(sorted.get(i + 1).min, entry.min) < 0) {
+            Entry next = sorted.get(i + 1);
+            sorted.set(i, next);
+            next.index = i;
+            i++;
+        }
+        sorted.set(i, entry);
+        entry.index = i;
+    }
+
+    /**
+     * Remove all Physics objects from the sorted list
+     */
+    @Override
+    public void clear() {
+        sorted.clear();
+        entries.clear();
+        maxLength = 0;
+        dirty = false;
+    }
+
+    /**
+     * Collect all objects whose interval on the sorting Axis overlaps a Box
+     *
+     * @param box        Box to find candidates for
+     * @param candidates Empty list to collect candidates into
+     */
+    @Override
+    protected void collect(Box box, ArrayList<Physics> candidates) {
+        if (dirty) sort();
+        float min = box.getMinimum(axis);
+        float max = box.getMaximum(axis);
+        float low = Math.min(min, max);
+        float high = Math.max(min, max);
+
+        for (int i = search(low - maxLength); i < sorted.size(); i++) {
+            Entry entry = sorted.get(i);
+            if (Float.compare(entry.min, high) > 0) break;
+            if (Float.compare(entry.max, low) >= 0) candidates.add(entry.physics);
+        }
+        sort(candidates);
+    }
+
+    /**
+     * Choose the sorting Axis for the collision pass and recalculate the largest object length
+     *
+     * @param objects Objects in the order they will be ticked in
+     */
+    @Override
+    public void prepare(List<? extends Physics> objects) {
+        super.prepare(objects);
+        if (automatic) {
+            Axis dominant = getDominantAxis();
+            if (dominant != axis) {
+                axis = dominant;
+                for (int i = 0; i < sorted.size(); i++) refresh(sorted.get(i));
+                dirty = true;
+            }
+        }
+        maxLength = 0;
+        for (int i = 0; i < sorted.size(); i++) maxLength = Math.max(maxLength, sorted.get(i).max - sorted.get(i).min);
+        if (dirty) sort();
+    }
+
+    /**
+     * Get the Axis the objects are sorted on
+     *
+     * @return Sorting Axis
+     */
+    public Axis getAxis() {
+        return axis;
+    }
+
+    /**
+     * Set the Axis to sort the objects on
+     * <br>
+     * Set to null to choose the Axis the objects are most spread out on every tick
+     *
+     * @param axis Sorting Axis
+     * @return This SweepAndPrune
+     */
+    public SweepAndPrune setAxis(Axis axis) {
+        automatic = axis == null;
+        this.axis = automatic ? getDominantAxis() : axis;
+        maxLength = 0;
+        for (Entry entry : sorted) refresh(entry);
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * Get the Axis the centers of the objects are most spread out on
+     * <br>
+     * The current Axis is kept unless another Axis is spread out noticeably more
+     *
+     * @return Axis with the largest spread
+     */
+    private Axis getDominantAxis() {
+        if (sorted.isEmpty()) return axis;
+        for (int i = 0; i < 3; i++) {
+            sums[i] = 0;
+            squares[i] = 0;
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            Entry entry = sorted.get(i);
+            float x = entry.physics.getPosition(Axis.X);
+            float y = entry.physics.getPosition(Axis.Y);
+            float z = entry.physics.getPosition(Axis.Z);
+            sums[0] += x;
+            sums[1] += y;
+            sums[2] += z;
+            squares[0] += (double) x * x;
+            squares[1] += (double) y * y;
+            squares[2] += (double) z * z;
+        }
+        Axis dominant = axis;
+        double spread = getSpread(sums[axis.ordinal()], squares[axis.ordinal()]) * AXIS_HYSTERESIS;
+        for (Axis a : Axis.values()) {
+            double s = getSpread(sums[a.ordinal()], squares[a.ordinal()]);
+            if (s > spread) {
+                dominant = a;
+                spread = s;
+            }
+        }
+        return dominant;
+    }
+
+    /**
+     * Get the variance of object centers on an Axis
+     *
+     * @param sum     Sum of the centers
+     * @param squares Sum of the squared centers
+     * @return Variance of the centers
+     */
+    private double getSpread(double sum, double squares) {
+        double mean = sum / sorted.size();
+        return squares / sorted.size() - mean * mean;
+    }
+
+    /**
+     * Fully sort the list after entries were added or the sorting Axis changed, and renumber the entries
+     */
+    private void sort() {
+        sorted.sort(MINIMUM);
+        for (int i = 0; i < sorted.size(); i++) sorted.get(i).index = i;
+        dirty = false;
+    }
+
+    /**
+     * Find the first entry with a minimum at or above a value
+     *
+     * @param value Value to search for
+     * @return Index of the first entry at or above the value
+     */
+    private int search(float value) {
+        int low = 0, high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Float.compare(sorted.get(mid).min, value) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Read the interval of an entry's object on the sorting Axis
+     *
+     * @param entry Entry to refresh
+     */
+    private void refresh(Entry entry) {
+        float min = entry.physics.getMinimum(axis);
+        float max = entry.physics.getMaximum(axis);
+        entry.min = Math.min(min, max);
+        entry.max = Math.max(min, max);
+        maxLength = Math.max(maxLength, entry.max - entry.min);
+    }
+
+    /**
+     * Object in the sorted list and its interval on the sorting Axis
+     */
+    private static class Entry {
+
+        /**
+         * Physics object of the entry
+         */
+        private final Physics physics;
+
+        /**
+         * Interval of the object on the sorting Axis
+         */
+        private float min, max;
+
+        /**
+         * Index of the entry in the sorted list
+         */
+        private int index;
+
+        /**
+         * Create a new Entry for a Physics object
+         *
+         * @param physics Physics object of the entry
+         */
+        private Entry(Physics physics) {
+            this.physics = physics;
+        }
+    }
+}
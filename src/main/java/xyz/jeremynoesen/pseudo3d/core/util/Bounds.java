@@ -0,0 +1,168 @@
+package xyz.jeremynoesen.pseudo3d.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Packed array of the minimums and maximums of many Boxes, so one Box can be tested against all of them at once
+ * <br>
+ * Each bound is stored in its own array, so Box.overlaps and Box.contains can test a whole batch of Boxes with SIMD
+ * instructions when the SIMD kernel is built with -Psimd and the jdk.incubator.vector module is added to the JVM,
+ * testing as many Boxes per instruction as the CPU has lanes for. Otherwise, the same tests run one Box at a time. Both
+ * give exactly the same results
+ * <br>
+ * The bounds are copied from the Boxes, so they must be set again when a Box moves or is resized
+ *
+ * @author Jeremy Noesen
+ */
+public class Bounds {
+
+    /**
+     * Number of Boxes tested in each batch, one per bit of the result
+     */
+    public static final int BATCH_SIZE = Long.SIZE;
+
+    /**
+     * Number of Boxes the arrays have room for when first created
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Kernel used to test batches of Boxes, using SIMD instructions if they are available
+     */
+    static final BoundsKernel KERNEL = loadKernel();
+
+    /**
+     * Minimum of each Box per Axis
+     */
+    float[] minX, minY, minZ;
+
+    /**
+     * Maximum of each Box per Axis
+     */
+    float[] maxX, maxY, maxZ;
+
+    /**
+     * Number of Boxes
+     */
+    int size;
+
+    /**
+     * Create a new empty Bounds
+     */
+    public Bounds() {
+        minX = new float[INITIAL_CAPACITY];
+        minY = new float[INITIAL_CAPACITY];
+        minZ = new float[INITIAL_CAPACITY];
+        maxX = new float[INITIAL_CAPACITY];
+        maxY = new float[INITIAL_CAPACITY];
+        maxZ = new float[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Add the bounds of a Box to the end
+     *
+     * @param box Box to add
+     * @return Index of the Box
+     */
+    public int add(Box box) {
+        if (size == minX.length) {
+            int capacity = size * 2;
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            minZ = Arrays.copyOf(minZ, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+            maxZ = Arrays.copyOf(maxZ, capacity);
+        }
+        set(size++, box);
+        return size - 1;
+    }
+
+    /**
+     * Set the bounds at an index to those of a Box
+     *
+     * @param index Index of the bounds
+     * @param box   Box to copy the bounds of
+     * @return This Bounds
+     */
+    public Bounds set(int index, Box box) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Cannot set index " + index + " of " + size + " bounds");
+        minX[index] = box.getMinimum(Axis.X);
+        minY[index] = box.getMinimum(Axis.Y);
+        minZ[index] = box.getMinimum(Axis.Z);
+        maxX[index] = box.getMaximum(Axis.X);
+        maxY[index] = box.getMaximum(Axis.Y);
+        maxZ[index] = box.getMaximum(Axis.Z);
+        return this;
+    }
+
+    /**
+     * Remove the bounds at an index by moving the bounds at the end into it
+     *
+     * @param index Index of the bounds to remove
+     * @return This Bounds
+     */
+    public Bounds remove(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Cannot remove index " + index + " of " + size + " bounds");
+        int last = --size;
+        minX[index] = minX[last];
+        minY[index] = minY[last];
+        minZ[index] = minZ[last];
+        maxX[index] = maxX[last];
+        maxY[index] = maxY[last];
+        maxZ[index] = maxZ[last];
+        return this;
+    }
+
+    /**
+     * Remove every Box, keeping the arrays
+     *
+     * @return This Bounds
+     */
+    public Bounds clear() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Get the number of Boxes
+     *
+     * @return Number of Boxes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if batches of Boxes are tested with SIMD instructions
+     *
+     * @return True if the SIMD kernel was built and the jdk.incubator.vector module is available
+     */
+    public static boolean isAccelerated() {
+        return !(KERNEL instanceof ScalarBoundsKernel);
+    }
+
+    /**
+     * Load the SIMD kernel if it was built and the jdk.incubator.vector module is available, falling back to the
+     * scalar kernel
+     * <br>
+     * The SIMD kernel is loaded by name, so this class never links against the module or the kernel when either is
+     * missing
+     *
+     * @return Kernel to use
+     */
+    private static BoundsKernel loadKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BoundsKernel) Class.forName("xyz.jeremynoesen.pseudo3d.core.util.SimdBoundsKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarBoundsKernel();
+            }
+        }
+        return new ScalarBoundsKernel();
+    }
+}
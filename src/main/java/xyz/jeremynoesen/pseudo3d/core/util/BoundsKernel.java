@@ -0,0 +1,46 @@
+package xyz.jeremynoesen.pseudo3d.core.util;
+
+/**
+ * Tests one set of bounds against a batch of the Boxes in a Bounds
+ * <br>
+ * Bounds are compared with the plain float comparison operators, so every kernel gives exactly the same results. Unlike
+ * Box.overlaps(Box), 0 and -0 are treated as equal, and Boxes with NaN bounds never match
+ *
+ * @author Jeremy Noesen
+ */
+interface BoundsKernel {
+
+    /**
+     * Find which Boxes of a batch overlap a Box
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param count  Number of Boxes in the batch, up to Bounds.BATCH_SIZE
+     * @return Bitmask with bit i set if the Box at start + i overlaps the Box
+     */
+    long overlaps(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds, int start,
+                  int count);
+
+    /**
+     * Find which Boxes of a batch are inside a Box
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param count  Number of Boxes in the batch, up to Bounds.BATCH_SIZE
+     * @return Bitmask with bit i set if the Box at start + i is inside the Box
+     */
+    long contains(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds, int start,
+                  int count);
+}
@@ -22,21 +22,36 @@ public class Box {
      */
     private float depth;
 
+    /**
+     * Position of the center of the Box
+     */
+    private float x, y, z;
+
     /**
      * Minimum point of the Box
      */
-    private Vector min;
+    private float minX, minY, minZ;
 
     /**
      * Maximum point of the Box
      */
-    private Vector max;
+    private float maxX, maxY, maxZ;
 
     /**
-     * Position of the center of the Box
+     * Position of the Box as a Vector, created when first requested after the position changed
      */
     private Vector position;
 
+    /**
+     * Minimum of the Box as a Vector, created when first requested after the Box changed
+     */
+    private Vector min;
+
+    /**
+     * Maximum of the Box as a Vector, created when first requested after the Box changed
+     */
+    private Vector max;
+
     /**
      * Create a new default Box
      */
@@ -44,9 +59,6 @@ public class Box {
         width = 0;
         height = 0;
         depth = 0;
-        position = new Vector();
-        min = new Vector();
-        max = new Vector();
     }
 
     /**
@@ -62,10 +74,15 @@ public class Box {
         this.height = Math.abs(height);
         this.depth = Math.abs(depth);
         this.position = position;
-        min = new Vector(position.getX() - (width / 2.0f),
-                position.getY() - (height / 2.0f), position.getZ() - (depth / 2.0f));
-        max = new Vector(position.getX() + (width / 2.0f),
-                position.getY() + (height / 2.0f), position.getZ() + (depth / 2.0f));
+        x = position.getX();
+        y = position.getY();
+        z = position.getZ();
+        minX = x - (width / 2.0f);
+        minY = y - (height / 2.0f);
+        minZ = z - (depth / 2.0f);
+        maxX = x + (width / 2.0f);
+        maxY = y + (height / 2.0f);
+        maxZ = z + (depth / 2.0f);
     }
 
     /**
@@ -80,10 +97,15 @@ public class Box {
         this.height = Math.abs(height);
         this.depth = 0;
         this.position = position;
-        min = new Vector(position.getX() - (width / 2.0f),
-                position.getY() - (height / 2.0f), position.getZ() - (depth / 2.0f));
-        max = new Vector(position.getX() + (width / 2.0f),
-                position.getY() + (height / 2.0f), position.getZ() + (depth / 2.0f));
+        x = position.getX();
+        y = position.getY();
+        z = position.getZ();
+        minX = x - (width / 2.0f);
+        minY = y - (height / 2.0f);
+        minZ = z - (depth / 2.0f);
+        maxX = x + (width / 2.0f);
+        maxY = y + (height / 2.0f);
+        maxZ = z + (depth / 2.0f);
     }
 
     /**
@@ -95,6 +117,15 @@ public class Box {
         this.width = box.width;
         this.height = box.height;
         this.depth = box.depth;
+        this.x = box.x;
+        this.y = box.y;
+        this.z = box.z;
+        this.minX = box.minX;
+        this.minY = box.minY;
+        this.minZ = box.minZ;
+        this.maxX = box.maxX;
+        this.maxY = box.maxY;
+        this.maxZ = box.maxZ;
         this.position = box.position;
         this.min = box.min;
         this.max = box.max;
@@ -160,8 +191,10 @@ public class Box {
      */
     public Box setWidth(float width) {
         this.width = Math.abs(width);
-        max = max.setX(position.getX() + (width / 2.0f));
-        min = min.setX(position.getX() - (width / 2.0f));
+        maxX = x + (width / 2.0f);
+        minX = x - (width / 2.0f);
+        min = null;
+        max = null;
         return this;
     }
 
@@ -182,8 +215,10 @@ public class Box {
      */
     public Box setHeight(float height) {
         this.height = Math.abs(height);
-        max = max.setY(position.getY() + (height / 2.0f));
-        min = min.setY(position.getY() - (height / 2.0f));
+        maxY = y + (height / 2.0f);
+        minY = y - (height / 2.0f);
+        min = null;
+        max = null;
         return this;
     }
 
@@ -204,8 +239,10 @@ public class Box {
      */
     public Box setDepth(float depth) {
         this.depth = depth;
-        max = max.setZ(position.getZ() + (depth / 2.0f));
-        min = min.setZ(position.getZ() - (depth / 2.0f));
+        maxZ = z + (depth / 2.0f);
+        minZ = z - (depth / 2.0f);
+        min = null;
+        max = null;
         return this;
     }
 
@@ -215,9 +252,24 @@ public class Box {
      * @return Box position
      */
     public Vector getPosition() {
+        if (position == null) position = new Vector(x, y, z);
         return position;
     }
 
+    /**
+     * Get the position of the Box on a specific Axis
+     *
+     * @param axis Axis to get position for
+     * @return Position on the specified Axis
+     */
+    public float getPosition(Axis axis) {
+        return switch (axis) {
+            case X -> x;
+            case Y -> y;
+            case Z -> z;
+        };
+    }
+
     /**
      * Set the position of the Box and recalculate its min and max
      *
@@ -225,32 +277,109 @@ public class Box {
      * @return This Box
      */
     public Box setPosition(Vector position) {
+        x = position.getX();
+        y = position.getY();
+        z = position.getZ();
+        resize();
         this.position = position;
-        max = new Vector(position.getX() + (width / 2.0f),
-                position.getY() + (height / 2.0f), position.getZ() + (depth / 2.0f));
-        min = new Vector(position.getX() - (width / 2.0f),
-                position.getY() - (height / 2.0f), position.getZ() - (depth / 2.0f));
         return this;
     }
 
+    /**
+     * Set the position of the Box on a specific Axis and recalculate its min and max
+     *
+     * @param axis     Axis to set position for
+     * @param position New position on the Axis
+     * @return This Box
+     */
+    public Box setPosition(Axis axis, float position) {
+        switch (axis) {
+            case X -> x = position;
+            case Y -> y = position;
+            case Z -> z = position;
+        }
+        resize();
+        return this;
+    }
+
+    /**
+     * Recalculate the min and max of the Box around its position
+     */
+    private void resize() {
+        maxX = x + (width / 2.0f);
+        maxY = y + (height / 2.0f);
+        maxZ = z + (depth / 2.0f);
+        minX = x - (width / 2.0f);
+        minY = y - (height / 2.0f);
+        minZ = z - (depth / 2.0f);
+        position = null;
+        min = null;
+        max = null;
+    }
+
     /**
      * Get the minimum of the Box
      *
      * @return Minimum location
      */
     public Vector getMinimum() {
+        if (min == null) min = new Vector(minX, minY, minZ);
         return min;
     }
 
+    /**
+     * Get the minimum of the Box on a specific Axis
+     *
+     * @param axis Axis to get minimum for
+     * @return Minimum on the specified Axis
+     */
+    public float getMinimum(Axis axis) {
+        return switch (axis) {
+            case X -> minX;
+            case Y -> minY;
+            case Z -> minZ;
+        };
+    }
+
     /**
      * Get the maximum of the Box
      *
      * @return Maximum location
      */
     public Vector getMaximum() {
+        if (max == null) max = new Vector(maxX, maxY, maxZ);
         return max;
     }
 
+    /**
+     * Get the maximum of the Box on a specific Axis
+     *
+     * @param axis Axis to get maximum for
+     * @return Maximum on the specified Axis
+     */
+    public float getMaximum(Axis axis) {
+        return switch (axis) {
+            case X -> maxX;
+            case Y -> maxY;
+            case Z -> maxZ;
+        };
+    }
+
+    /**
+     * Check if a Box overlaps this Box
+     *
+     * @param box Box to check for overlap
+     * @return True if the Box overlaps this Box
+     */
+    public boolean overlaps(Box box) {
+        return Float.compare(minX, box.maxX) <= 0 &&
+                Float.compare(maxX, box.minX) >= 0 &&
+                Float.compare(minY, box.maxY) <= 0 &&
+                Float.compare(maxY, box.minY) >= 0 &&
+                Float.compare(minZ, box.maxZ) <= 0 &&
+                Float.compare(maxZ, box.minZ) >= 0;
+    }
+
     /**
      * Check if Boxes overlap this Box
      *
@@ -259,17 +388,45 @@ public class Box {
      */
     public boolean overlaps(Box... box) {
         for (Box b : box) {
-            if (!(Float.compare(min.getX(), b.getMaximum().getX()) <= 0 &&
-                    Float.compare(max.getX(), b.getMinimum().getX()) >= 0 &&
-                    Float.compare(min.getY(), b.getMaximum().getY()) <= 0 &&
-                    Float.compare(max.getY(), b.getMinimum().getY()) >= 0 &&
-                    Float.compare(min.getZ(), b.getMaximum().getZ()) <= 0 &&
-                    Float.compare(max.getZ(), b.getMinimum().getZ()) >= 0))
-                return false;
+            if (!overlaps(b)) return false;
         }
         return true;
     }
 
+    /**
+     * Check which Boxes of a batch in a Bounds overlap this Box, using SIMD instructions if they are available
+     * <br>
+     * Bounds are compared with the plain float comparison operators, so 0 and -0 are treated as equal, and Boxes with
+     * NaN bounds never overlap
+     *
+     * @param bounds Bounds holding the Boxes to check
+     * @param start  Index of the first Box of the batch
+     * @return Bitmask with bit i set if the Box at start + i overlaps this Box, for up to Bounds.BATCH_SIZE Boxes
+     */
+    public long overlaps(Bounds bounds, int start) {
+        if (start < 0 || start > bounds.size)
+            throw new IndexOutOfBoundsException("Cannot check index " + start + " of " + bounds.size + " bounds");
+        int count = Math.min(Bounds.BATCH_SIZE, bounds.size - start);
+        return Bounds.KERNEL.overlaps(minX, maxX, minY, maxY, minZ, maxZ, bounds, start, count);
+    }
+
+    /**
+     * Check which Boxes of a batch in a Bounds are inside this Box, using SIMD instructions if they are available
+     * <br>
+     * Bounds are compared with the plain float comparison operators, so 0 and -0 are treated as equal, and Boxes with
+     * NaN bounds are never inside
+     *
+     * @param bounds Bounds holding the Boxes to check
+     * @param start  Index of the first Box of the batch
+     * @return Bitmask with bit i set if the Box at start + i is inside this Box, for up to Bounds.BATCH_SIZE Boxes
+     */
+    public long contains(Bounds bounds, int start) {
+        if (start < 0 || start > bounds.size)
+            throw new IndexOutOfBoundsException("Cannot check index " + start + " of " + bounds.size + " bounds");
+        int count = Math.min(Bounds.BATCH_SIZE, bounds.size - start);
+        return Bounds.KERNEL.contains(minX, maxX, minY, maxY, minZ, maxZ, bounds, start, count);
+    }
+
     /**
      * Check if Boxes are inside this Box
      *
@@ -278,12 +435,12 @@ public class Box {
      */
     public boolean contains(Box... box) {
         for (Box b : box) {
-            if (!(Float.compare(min.getX(), b.getMinimum().getX()) <= 0 &&
-                    Float.compare(max.getX(), b.getMaximum().getX()) >= 0 &&
-                    Float.compare(min.getY(), b.getMinimum().getY()) <= 0 &&
-                    Float.compare(max.getY(), b.getMaximum().getY()) >= 0 &&
-                    Float.compare(min.getZ(), b.getMinimum().getZ()) <= 0 &&
-                    Float.compare(max.getZ(), b.getMaximum().getZ()) >= 0))
+            if (!(Float.compare(minX, b.minX) <= 0 &&
+                    Float.compare(maxX, b.maxX) >= 0 &&
+                    Float.compare(minY, b.minY) <= 0 &&
+                    Float.compare(maxY, b.maxY) >= 0 &&
+                    Float.compare(minZ, b.minZ) <= 0 &&
+                    Float.compare(maxZ, b.maxZ) >= 0))
                 return false;
         }
         return true;
@@ -297,12 +454,12 @@ public class Box {
      */
     public boolean contains(Vector... position) {
         for (Vector v : position) {
-            if (!(Float.compare(min.getX(), v.getX()) <= 0 &&
-                    Float.compare(max.getX(), v.getX()) >= 0 &&
-                    Float.compare(min.getY(), v.getY()) <= 0 &&
-                    Float.compare(max.getY(), v.getY()) >= 0 &&
-                    Float.compare(min.getZ(), v.getZ()) <= 0 &&
-                    Float.compare(max.getZ(), v.getZ()) >= 0))
+            if (!(Float.compare(minX, v.getX()) <= 0 &&
+                    Float.compare(maxX, v.getX()) >= 0 &&
+                    Float.compare(minY, v.getY()) <= 0 &&
+                    Float.compare(maxY, v.getY()) >= 0 &&
+                    Float.compare(minZ, v.getZ()) <= 0 &&
+                    Float.compare(maxZ, v.getZ()) >= 0))
                 return false;
         }
         return true;
@@ -347,7 +504,7 @@ public class Box {
      */
     @Override
     public String toString() {
-        return "[" + width + ", " + height + ", " + depth + ", " + position.toString() + "]";
+        return "[" + width + ", " + height + ", " + depth + ", " + getPosition().toString() + "]";
     }
 
     /**
@@ -364,6 +521,8 @@ public class Box {
         return Float.compare(that.width, width) == 0 &&
                 Float.compare(that.height, height) == 0 &&
                 Float.compare(that.depth, depth) == 0 &&
-                that.position.equals(position);
+                Float.compare(that.x, x) == 0 &&
+                Float.compare(that.y, y) == 0 &&
+                Float.compare(that.z, z) == 0;
     }
 }
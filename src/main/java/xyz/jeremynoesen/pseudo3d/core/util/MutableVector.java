@@ -0,0 +1,425 @@
+package xyz.jeremynoesen.pseudo3d.core.util;
+
+/**
+ * Mutable Vector with vector mathematical operators that change the Vector in place
+ * <br>
+ * Unlike Vector, none of the operators create new objects, so a MutableVector can be kept and reused for math done
+ * every tick or frame. Use toVector to get an immutable copy
+ *
+ * @author Jeremy Noesen
+ */
+public class MutableVector {
+
+    /**
+     * X component of Vector
+     */
+    private float x;
+
+    /**
+     * Y component of Vector
+     */
+    private float y;
+
+    /**
+     * Z component of Vector
+     */
+    private float z;
+
+    /**
+     * Create a new MutableVector
+     */
+    public MutableVector() {
+        x = 0;
+        y = 0;
+        z = 0;
+    }
+
+    /**
+     * Create a new 3D MutableVector with components x, y, and z
+     *
+     * @param x X component of Vector
+     * @param y Y component of Vector
+     * @param z Z component of Vector
+     */
+    public MutableVector(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Create a new MutableVector with the components of a Vector
+     *
+     * @param vector Vector to copy
+     */
+    public MutableVector(Vector vector) {
+        x = vector.getX();
+        y = vector.getY();
+        z = vector.getZ();
+    }
+
+    /**
+     * Copy constructor for MutableVector
+     *
+     * @param vector MutableVector to copy
+     */
+    public MutableVector(MutableVector vector) {
+        x = vector.x;
+        y = vector.y;
+        z = vector.z;
+    }
+
+    /**
+     * Get the x component of the Vector
+     *
+     * @return X component
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * Set the x component of the Vector
+     *
+     * @param x X component
+     * @return This MutableVector
+     */
+    public MutableVector setX(float x) {
+        this.x = x;
+        return this;
+    }
+
+    /**
+     * Get the y component of the Vector
+     *
+     * @return Y component
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * Set the y component of the Vector
+     *
+     * @param y Y component
+     * @return This MutableVector
+     */
+    public MutableVector setY(float y) {
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Get the z component of the Vector
+     *
+     * @return Z component
+     */
+    public float getZ() {
+        return z;
+    }
+
+    /**
+     * Set the z component of the Vector
+     *
+     * @param z Z component
+     * @return This MutableVector
+     */
+    public MutableVector setZ(float z) {
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Get a specified component of the Vector
+     *
+     * @param axis Axis to get value for
+     * @return Component of Vector based on Axis
+     */
+    public float get(Axis axis) {
+        return switch (axis) {
+            case X -> x;
+            case Y -> y;
+            case Z -> z;
+        };
+    }
+
+    /**
+     * Set a specified component of the Vector
+     *
+     * @param axis  Axis to set value to
+     * @param value Value to set
+     * @return This MutableVector
+     */
+    public MutableVector set(Axis axis, float value) {
+        switch (axis) {
+            case X -> x = value;
+            case Y -> y = value;
+            case Z -> z = value;
+        }
+        return this;
+    }
+
+    /**
+     * Set every component of the Vector
+     *
+     * @param x X component
+     * @param y Y component
+     * @param z Z component
+     * @return This MutableVector
+     */
+    public MutableVector set(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Set the components of the Vector to those of a Vector
+     *
+     * @param vector Vector to copy
+     * @return This MutableVector
+     */
+    public MutableVector set(Vector vector) {
+        return set(vector.getX(), vector.getY(), vector.getZ());
+    }
+
+    /**
+     * Set the components of the Vector to those of another MutableVector
+     *
+     * @param vector MutableVector to copy
+     * @return This MutableVector
+     */
+    public MutableVector set(MutableVector vector) {
+        return set(vector.x, vector.y, vector.z);
+    }
+
+    /**
+     * Get the magnitude of the Vector
+     *
+     * @return Magnitude of Vector
+     */
+    public float getMagnitude() {
+        return (float) Math.sqrt((x * x) + (y * y) + (z * z));
+    }
+
+    /**
+     * Add a Vector to this Vector
+     *
+     * @param vector Vector to add
+     * @return This MutableVector
+     */
+    public MutableVector add(Vector vector) {
+        return add(vector.getX(), vector.getY(), vector.getZ());
+    }
+
+    /**
+     * Add another MutableVector to this Vector
+     *
+     * @param vector MutableVector to add
+     * @return This MutableVector
+     */
+    public MutableVector add(MutableVector vector) {
+        return add(vector.x, vector.y, vector.z);
+    }
+
+    /**
+     * Add components to this Vector
+     *
+     * @param x X component to add
+     * @param y Y component to add
+     * @param z Z component to add
+     * @return This MutableVector
+     */
+    public MutableVector add(float x, float y, float z) {
+        this.x += x;
+        this.y += y;
+        this.z += z;
+        return this;
+    }
+
+    /**
+     * Subtract a Vector from this Vector
+     *
+     * @param vector Vector to subtract
+     * @return This MutableVector
+     */
+    public MutableVector subtract(Vector vector) {
+        return add(-vector.getX(), -vector.getY(), -vector.getZ());
+    }
+
+    /**
+     * Subtract another MutableVector from this Vector
+     *
+     * @param vector MutableVector to subtract
+     * @return This MutableVector
+     */
+    public MutableVector subtract(MutableVector vector) {
+        return add(-vector.x, -vector.y, -vector.z);
+    }
+
+    /**
+     * Multiply the components of this Vector by the components of a Vector
+     *
+     * @param vector Vector to multiply by
+     * @return This MutableVector
+     */
+    public MutableVector multiply(Vector vector) {
+        x *= vector.getX();
+        y *= vector.getY();
+        z *= vector.getZ();
+        return this;
+    }
+
+    /**
+     * Multiply the components of this Vector by the components of another MutableVector
+     *
+     * @param vector MutableVector to multiply by
+     * @return This MutableVector
+     */
+    public MutableVector multiply(MutableVector vector) {
+        x *= vector.x;
+        y *= vector.y;
+        z *= vector.z;
+        return this;
+    }
+
+    /**
+     * Multiply the Vector's magnitude by a scalar, which multiplies each component by the scalar
+     *
+     * @param scale What to scale the Vector by
+     * @return This MutableVector
+     */
+    public MutableVector multiply(float scale) {
+        x *= scale;
+        y *= scale;
+        z *= scale;
+        return this;
+    }
+
+    /**
+     * Divide the components of this Vector by the components of a Vector
+     *
+     * @param vector Vector to divide by
+     * @return This MutableVector
+     */
+    public MutableVector divide(Vector vector) {
+        if (Float.compare(vector.getX(), 0) == 0 || Float.compare(vector.getY(), 0) == 0 ||
+                Float.compare(vector.getZ(), 0) == 0)
+            throw new ArithmeticException("Cannot divide by zero");
+        x /= vector.getX();
+        y /= vector.getY();
+        z /= vector.getZ();
+        return this;
+    }
+
+    /**
+     * Divide the Vector's magnitude by a scalar, which divides each component by the scalar
+     *
+     * @param scale What to scale the Vector by
+     * @return This MutableVector
+     */
+    public MutableVector divide(float scale) {
+        if (Float.compare(scale, 0) == 0)
+            throw new ArithmeticException("Cannot divide by zero");
+        x /= scale;
+        y /= scale;
+        z /= scale;
+        return this;
+    }
+
+    /**
+     * Calculate the dot product of this Vector and a Vector
+     *
+     * @param vector Vector to dot product
+     * @return Value of the dot product
+     */
+    public float dot(Vector vector) {
+        return (x * vector.getX()) + (y * vector.getY()) + (z * vector.getZ());
+    }
+
+    /**
+     * Cross multiply this Vector by a Vector, storing the result in this Vector
+     *
+     * @param vector Vector to cross multiply
+     * @return This MutableVector
+     */
+    public MutableVector cross(Vector vector) {
+        float i = (y * vector.getZ()) - (z * vector.getY());
+        float j = -((x * vector.getZ()) - (z * vector.getX()));
+        float k = (x * vector.getY()) - (y * vector.getX());
+        return set(i, j, k);
+    }
+
+    /**
+     * Calculate the distance between the ends of this Vector and a Vector
+     *
+     * @param vector Vector to calculate distance to
+     * @return Distance to location
+     */
+    public float distance(Vector vector) {
+        float dx = x - vector.getX(), dy = y - vector.getY(), dz = z - vector.getZ();
+        return (float) Math.sqrt((dx * dx) + (dy * dy) + (dz * dz));
+    }
+
+    /**
+     * Normalize the Vector to a magnitude of 1
+     *
+     * @return This MutableVector
+     */
+    public MutableVector normalize() {
+        float mag = getMagnitude();
+        if (Float.compare(mag, 0) == 0)
+            throw new ArithmeticException("Cannot divide by zero");
+        return divide(mag);
+    }
+
+    /**
+     * Get an immutable copy of the Vector
+     *
+     * @return Vector with the same components
+     */
+    public Vector toVector() {
+        return new Vector(x, y, z);
+    }
+
+    /**
+     * Get the Vector as a String
+     *
+     * @return Vector as a String in vector format
+     */
+    @Override
+    public String toString() {
+        return "<" + x + "," + y + "," + z + ">";
+    }
+
+    /**
+     * Check if two MutableVectors are equal
+     *
+     * @param vector MutableVector to compare to this MutableVector
+     * @return True if the MutableVectors are equal
+     */
+    @Override
+    public boolean equals(Object vector) {
+        if (this == vector) return true;
+        if (vector == null || getClass() != vector.getClass()) return false;
+        MutableVector that = (MutableVector) vector;
+        return Float.compare(that.x, x) == 0 &&
+                Float.compare(that.y, y) == 0 &&
+                Float.compare(that.z, z) == 0;
+    }
+
+    /**
+     * Get a hash code of the MutableVector, matching equals
+     * <br>
+     * The hash code changes when the MutableVector does, so it should not be changed while in a hashed collection
+     *
+     * @return Hash code of the MutableVector
+     */
+    @Override
+    public int hashCode() {
+        int hash = Float.hashCode(x);
+        hash = 31 * hash + Float.hashCode(y);
+        return 31 * hash + Float.hashCode(z);
+    }
+}
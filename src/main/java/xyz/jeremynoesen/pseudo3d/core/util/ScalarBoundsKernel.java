@@ -0,0 +1,109 @@
+package xyz.jeremynoesen.pseudo3d.core.util;
+
+/**
+ * BoundsKernel that tests one Box at a time, used when SIMD instructions are not available
+ *
+ * @author Jeremy Noesen
+ */
+class ScalarBoundsKernel implements BoundsKernel {
+
+    /**
+     * Find which Boxes of a batch overlap a Box, one Box at a time
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param count  Number of Boxes in the batch, up to Bounds.BATCH_SIZE
+     * @return Bitmask with bit i set if the Box at start + i overlaps the Box
+     */
+    @Override
+    public long overlaps(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds,
+                         int start, int count) {
+        return overlaps(minX, maxX, minY, maxY, minZ, maxZ, bounds, start, 0, count);
+    }
+
+    /**
+     * Find which Boxes of a batch are inside a Box, one Box at a time
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param count  Number of Boxes in the batch, up to Bounds.BATCH_SIZE
+     * @return Bitmask with bit i set if the Box at start + i is inside the Box
+     */
+    @Override
+    public long contains(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds,
+                         int start, int count) {
+        return contains(minX, maxX, minY, maxY, minZ, maxZ, bounds, start, 0, count);
+    }
+
+    /**
+     * Find which Boxes of part of a batch overlap a Box, one Box at a time
+     * <br>
+     * This is also used by the SIMD kernel for the Boxes left over after its full vectors
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param from   Offset in the batch of the first Box to test
+     * @param count  Number of Boxes in the batch
+     * @return Bitmask with bit i set if the Box at start + i overlaps the Box, for the Boxes tested
+     */
+    static long overlaps(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds,
+                         int start, int from, int count) {
+        long mask = 0;
+        for (int i = from; i < count; i++) {
+            int j = start + i;
+            if (bounds.minX[j] <= maxX && bounds.maxX[j] >= minX &&
+                    bounds.minY[j] <= maxY && bounds.maxY[j] >= minY &&
+                    bounds.minZ[j] <= maxZ && bounds.maxZ[j] >= minZ)
+                mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    /**
+     * Find which Boxes of part of a batch are inside a Box, one Box at a time
+     * <br>
+     * This is also used by the SIMD kernel for the Boxes left over after its full vectors
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param from   Offset in the batch of the first Box to test
+     * @param count  Number of Boxes in the batch
+     * @return Bitmask with bit i set if the Box at start + i is inside the Box, for the Boxes tested
+     */
+    static long contains(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds,
+                         int start, int from, int count) {
+        long mask = 0;
+        for (int i = from; i < count; i++) {
+            int j = start + i;
+            if (bounds.minX[j] >= minX && bounds.maxX[j] <= maxX &&
+                    bounds.minY[j] >= minY && bounds.maxY[j] <= maxY &&
+                    bounds.minZ[j] >= minZ && bounds.maxZ[j] <= maxZ)
+                mask |= 1L << i;
+        }
+        return mask;
+    }
+}
@@ -8,6 +8,13 @@ package xyz.jeremynoesen.pseudo3d.core.util;
 public enum Side {
     LEFT, RIGHT, BOTTOM, TOP, BACK, FRONT;
 
+    /**
+     * Normal Vectors of the Sides, shared as Vectors are immutable
+     */
+    private static final Vector LEFT_NORMAL = new Vector(-1, 0, 0), RIGHT_NORMAL = new Vector(1, 0, 0),
+            BOTTOM_NORMAL = new Vector(0, -1, 0), TOP_NORMAL = new Vector(0, 1, 0),
+            BACK_NORMAL = new Vector(0, 0, -1), FRONT_NORMAL = new Vector(0, 0, 1);
+
     /**
      * Get a Side whose normal has specified direction on an Axis
      *
@@ -49,12 +56,12 @@ public enum Side {
      */
     public static Vector getNormalVector(Side side) {
         return switch (side) {
-            case LEFT -> new Vector(-1, 0, 0);
-            case RIGHT -> new Vector(1, 0, 0);
-            case BOTTOM -> new Vector(0, -1, 0);
-            case TOP -> new Vector(0, 1, 0);
-            case BACK -> new Vector(0, 0, -1);
-            case FRONT -> new Vector(0, 0, 1);
+            case LEFT -> LEFT_NORMAL;
+            case RIGHT -> RIGHT_NORMAL;
+            case BOTTOM -> BOTTOM_NORMAL;
+            case TOP -> TOP_NORMAL;
+            case BACK -> BACK_NORMAL;
+            case FRONT -> FRONT_NORMAL;
         };
     }
 
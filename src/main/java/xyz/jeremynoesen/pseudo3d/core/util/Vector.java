@@ -2,6 +2,8 @@ package xyz.jeremynoesen.pseudo3d.core.util;
 
 /**
  * Immutable Vector with vector mathematical operators
+ * <br>
+ * Every operator creates a new Vector, so math done every tick or frame should use a MutableVector instead
  *
  * @author Jeremy Noesen
  */
@@ -56,6 +58,17 @@ public class Vector {
         this.z = 0;
     }
 
+    /**
+     * Create a new Vector with the components of a MutableVector
+     *
+     * @param vector MutableVector to copy
+     */
+    public Vector(MutableVector vector) {
+        x = vector.getX();
+        y = vector.getY();
+        z = vector.getZ();
+    }
+
     /**
      * Copy constructor for Vector
      *
@@ -83,6 +96,7 @@ public class Vector {
      * @return Vector with modified x component
      */
     public Vector setX(float x) {
+        if (Float.compare(this.x, x) == 0) return this;
         return new Vector(x, y, z);
     }
 
@@ -102,6 +116,7 @@ public class Vector {
      * @return Vector with modified y component
      */
     public Vector setY(float y) {
+        if (Float.compare(this.y, y) == 0) return this;
         return new Vector(x, y, z);
     }
 
@@ -121,6 +136,7 @@ public class Vector {
      * @return Vector with modified y component
      */
     public Vector setZ(float z) {
+        if (Float.compare(this.z, z) == 0) return this;
         return new Vector(x, y, z);
     }
 
@@ -162,6 +178,16 @@ public class Vector {
         return (float) Math.sqrt((x * x) + (y * y) + (z * z));
     }
 
+    /**
+     * Add a Vector to this Vector
+     *
+     * @param vector Vector to add
+     * @return Vector from the sum of the Vectors
+     */
+    public Vector add(Vector vector) {
+        return new Vector(x + vector.x, y + vector.y, z + vector.z);
+    }
+
     /**
      * Add together this Vector and other Vectors
      *
@@ -169,11 +195,23 @@ public class Vector {
      * @return Vector from the sum of the Vectors
      */
     public Vector add(Vector... vector) {
-        Vector output = new Vector(this);
+        float x = this.x, y = this.y, z = this.z;
         for (Vector v : vector) {
-            output = new Vector(output.x + v.x, output.y + v.y, output.z + v.z);
+            x += v.x;
+            y += v.y;
+            z += v.z;
         }
-        return output;
+        return new Vector(x, y, z);
+    }
+
+    /**
+     * Subtract a Vector from this Vector
+     *
+     * @param vector Vector to subtract
+     * @return Vector from subtraction of the Vectors
+     */
+    public Vector subtract(Vector vector) {
+        return new Vector(x - vector.x, y - vector.y, z - vector.z);
     }
 
     /**
@@ -183,11 +221,23 @@ public class Vector {
      * @return Vector from subtraction of the Vectors
      */
     public Vector subtract(Vector... vector) {
-        Vector output = new Vector(this);
+        float x = this.x, y = this.y, z = this.z;
         for (Vector v : vector) {
-            output = new Vector(output.x - v.x, output.y - v.y, output.z - v.z);
+            x -= v.x;
+            y -= v.y;
+            z -= v.z;
         }
-        return output;
+        return new Vector(x, y, z);
+    }
+
+    /**
+     * Multiply vector components by another Vector's components
+     *
+     * @param vector Vector to multiply
+     * @return Vector from multiplication of the Vectors
+     */
+    public Vector multiply(Vector vector) {
+        return new Vector(x * vector.x, y * vector.y, z * vector.z);
     }
 
     /**
@@ -197,11 +247,13 @@ public class Vector {
      * @return Vector from multiplication of the Vectors
      */
     public Vector multiply(Vector... vector) {
-        Vector output = new Vector(this);
+        float x = this.x, y = this.y, z = this.z;
         for (Vector v : vector) {
-            output = new Vector(output.x * v.x, output.y * v.y, output.z * v.z);
+            x *= v.x;
+            y *= v.y;
+            z *= v.z;
         }
-        return output;
+        return new Vector(x, y, z);
     }
 
     /**
@@ -214,6 +266,18 @@ public class Vector {
         return new Vector(x * scale, y * scale, z * scale);
     }
 
+    /**
+     * Divide Vector components by another Vector's components
+     *
+     * @param vector Vector to divide by
+     * @return Vector from division of the Vectors
+     */
+    public Vector divide(Vector vector) {
+        if (Float.compare(vector.x, 0) == 0 || Float.compare(vector.y, 0) == 0 || Float.compare(vector.z, 0) == 0)
+            throw new ArithmeticException("Cannot divide by zero");
+        return new Vector(x / vector.x, y / vector.y, z / vector.z);
+    }
+
     /**
      * Divide Vector components by other Vectors' components
      *
@@ -221,13 +285,15 @@ public class Vector {
      * @return Vector from division of the Vectors
      */
     public Vector divide(Vector... vector) {
-        Vector output = new Vector(this);
+        float x = this.x, y = this.y, z = this.z;
         for (Vector v : vector) {
             if (Float.compare(v.x, 0) == 0 || Float.compare(v.y, 0) == 0 || Float.compare(v.z, 0) == 0)
                 throw new ArithmeticException("Cannot divide by zero");
-            output = new Vector(output.x / v.x, output.y / v.y, output.z / v.z);
+            x /= v.x;
+            y /= v.y;
+            z /= v.z;
         }
-        return output;
+        return new Vector(x, y, z);
     }
 
     /**
@@ -0,0 +1,124 @@
+package xyz.jeremynoesen.pseudo3d.core.util;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * BoundsKernel that tests as many Boxes per instruction as the CPU has float lanes for, such as 8 with AVX2 or 16 with
+ * AVX-512, using the jdk.incubator.vector module
+ * <br>
+ * This class is in the simd source set, which is only built with -Psimd, and is only loaded by name when the module is
+ * available, so nothing else may refer to it directly
+ *
+ * @author Jeremy Noesen
+ */
+class SimdBoundsKernel implements BoundsKernel {
+
+    /**
+     * Widest vector shape the CPU supports, limited to one lane per bit of an int
+     */
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED.length() <= Integer.SIZE ?
+            FloatVector.SPECIES_PREFERRED : FloatVector.SPECIES_512;
+
+    /**
+     * Bit of each lane in a mask, stored as the bits of floats so they can be blended with a float mask
+     */
+    private static final FloatVector WEIGHTS = weights();
+
+    /**
+     * Vector of zeros, used for the lanes of a mask that are not set
+     */
+    private static final FloatVector ZERO = FloatVector.zero(SPECIES);
+
+    /**
+     * Find which Boxes of a batch overlap a Box, testing a full vector of Boxes at a time
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param count  Number of Boxes in the batch, up to Bounds.BATCH_SIZE
+     * @return Bitmask with bit i set if the Box at start + i overlaps the Box
+     */
+    @Override
+    public long overlaps(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds,
+                         int start, int count) {
+        long result = 0;
+        int i = 0, end = SPECIES.loopBound(count);
+        for (; i < end; i += SPECIES.length()) {
+            int j = start + i;
+            VectorMask<Float> mask = FloatVector.fromArray(SPECIES, bounds.minX, j).compare(VectorOperators.LE, maxX)
+                    .and(FloatVector.fromArray(SPECIES, bounds.maxX, j).compare(VectorOperators.GE, minX))
+                    .and(FloatVector.fromArray(SPECIES, bounds.minY, j).compare(VectorOperators.LE, maxY))
+                    .and(FloatVector.fromArray(SPECIES, bounds.maxY, j).compare(VectorOperators.GE, minY))
+                    .and(FloatVector.fromArray(SPECIES, bounds.minZ, j).compare(VectorOperators.LE, maxZ))
+                    .and(FloatVector.fromArray(SPECIES, bounds.maxZ, j).compare(VectorOperators.GE, minZ));
+            result |= toLong(mask) << i;
+        }
+        return result | ScalarBoundsKernel.overlaps(minX, maxX, minY, maxY, minZ, maxZ, bounds, start, i, count);
+    }
+
+    /**
+     * Find which Boxes of a batch are inside a Box, testing a full vector of Boxes at a time
+     *
+     * @param minX   Minimum x of the Box
+     * @param maxX   Maximum x of the Box
+     * @param minY   Minimum y of the Box
+     * @param maxY   Maximum y of the Box
+     * @param minZ   Minimum z of the Box
+     * @param maxZ   Maximum z of the Box
+     * @param bounds Bounds holding the batch
+     * @param start  Index of the first Box of the batch
+     * @param count  Number of Boxes in the batch, up to Bounds.BATCH_SIZE
+     * @return Bitmask with bit i set if the Box at start + i is inside the Box
+     */
+    @Override
+    public long contains(float minX, float maxX, float minY, float maxY, float minZ, float maxZ, Bounds bounds,
+                         int start, int count) {
+        long result = 0;
+        int i = 0, end = SPECIES.loopBound(count);
+        for (; i < end; i += SPECIES.length()) {
+            int j = start + i;
+            VectorMask<Float> mask = FloatVector.fromArray(SPECIES, bounds.minX, j).compare(VectorOperators.GE, minX)
+                    .and(FloatVector.fromArray(SPECIES, bounds.maxX, j).compare(VectorOperators.LE, maxX))
+                    .and(FloatVector.fromArray(SPECIES, bounds.minY, j).compare(VectorOperators.GE, minY))
+                    .and(FloatVector.fromArray(SPECIES, bounds.maxY, j).compare(VectorOperators.LE, maxY))
+                    .and(FloatVector.fromArray(SPECIES, bounds.minZ, j).compare(VectorOperators.GE, minZ))
+                    .and(FloatVector.fromArray(SPECIES, bounds.maxZ, j).compare(VectorOperators.LE, maxZ));
+            result |= toLong(mask) << i;
+        }
+        return result | ScalarBoundsKernel.contains(minX, maxX, minY, maxY, minZ, maxZ, bounds, start, i, count);
+    }
+
+    /**
+     * Convert a mask to a bitmask with bit i set if lane i is set
+     * <br>
+     * VectorMask.toLong copies the mask into an array on some JVMs, so the bits are blended and combined in vectors
+     * instead
+     *
+     * @param mask Mask to convert
+     * @return Bitmask of the lanes that are set
+     */
+    private static long toLong(VectorMask<Float> mask) {
+        return ZERO.blend(WEIGHTS, mask).reinterpretAsInts().reduceLanes(VectorOperators.OR) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Create the vector of the bit of each lane
+     *
+     * @return Bits of the lanes
+     */
+    private static FloatVector weights() {
+        int[] weights = new int[SPECIES.length()];
+        for (int i = 0; i < weights.length; i++) weights[i] = 1 << i;
+        return IntVector.fromArray(VectorSpecies.of(int.class, SPECIES.vectorShape()), weights, 0)
+                .reinterpretAsFloats();
+    }
+}
@@ -0,0 +1,99 @@
+import xyz.jeremynoesen.pseudo3d.core.Scene;
+import xyz.jeremynoesen.pseudo3d.core.object.AABBTree;
+import xyz.jeremynoesen.pseudo3d.core.object.Entity;
+import xyz.jeremynoesen.pseudo3d.core.object.Physics;
+import xyz.jeremynoesen.pseudo3d.core.util.Box;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.util.Random;
+
+/**
+ * Benchmark of AABBTree queries against a linear scan of Scene.getEntities()
+ *
+ * @author Jeremy Noesen
+ */
+public class AABBTreeBenchmark {
+
+    /**
+     * Number of queries run per count of Entities
+     */
+    private static final int QUERIES = 1000;
+
+    /**
+     * Number of times the queries are repeated after warming up
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Run the benchmark at 1k, 10k, and 100k Entities
+     *
+     * @param args Program arguments
+     */
+    public static void main(String[] args) {
+        for (int count : new int[]{1000, 10000, 100000}) {
+            Scene scene = createScene(count);
+            scene.tick(1 / 120f);
+            AABBTree tree = (AABBTree) scene.getBroadPhase();
+            //Create a Scene and place its Entities into the tree
+
+            Random random = new Random(2);
+            int side = (int) Math.sqrt(count);
+            Box[] queries = new Box[QUERIES];
+            for (int i = 0; i < queries.length; i++)
+                queries[i] = new Box(2, 2, 2, new Vector(random.nextFloat() * side, random.nextFloat() * side * 3, 0));
+            //Create query Boxes spread over the Scene
+
+            long linear = 0, indexed = 0, hits = 0;
+            for (int round = 0; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (Box query : queries) {
+                    for (Entity entity : scene.getEntities()) if (entity.overlaps(query)) hits++;
+                }
+                long middle = System.nanoTime();
+                for (Box query : queries) {
+                    for (Physics physics : tree.query(query)) if (physics.overlaps(query)) hits--;
+                }
+                long end = System.nanoTime();
+                if (round == 0) continue;
+                linear += middle - start;
+                indexed += end - middle;
+            }
+            //Run the queries both ways, skipping the first round as warmup
+
+            System.out.printf("%d entities: %.1f us linear, %.1f us tree (height %d)%s%n", count,
+                    linear / (ROUNDS * QUERIES * 1000.0), indexed / (ROUNDS * QUERIES * 1000.0), tree.getHeight(),
+                    hits == 0 ? "" : ", results differ");
+            //Print the average time per query
+        }
+    }
+
+    /**
+     * Create a Scene of rows of small static Entities with a few moving ones, resting on one huge static floor
+     *
+     * @param count Number of Entities
+     * @return Scene using an AABBTree
+     */
+    private static Scene createScene(int count) {
+        Random random = new Random(1);
+        Scene scene = new Scene().setBroadPhase(new AABBTree());
+        int side = (int) Math.sqrt(count);
+        for (int i = 0; i < count; i++) {
+            Entity entity = new Entity().setUpdateOffScreen(true);
+            if (i == 0) {
+                entity.setKinematic()
+                        .setDimensions(new Vector(side * 2, 0.5f, 4))
+                        .setPosition(new Vector(side / 2f, -6, 0));
+            } else if (i % 10 != 0) {
+                entity.setKinematic()
+                        .setDimensions(new Vector(1, 1, 1))
+                        .setPosition(new Vector(i % side, ((i / side) * 3) - 4.75f, 0));
+            } else {
+                entity.setVelocity(new Vector((random.nextFloat() * 4) - 2, 0, 0))
+                        .setDimensions(new Vector(0.8f, 2, 0.8f))
+                        .setPosition(new Vector(random.nextFloat() * side, ((i / side) * 3) + random.nextFloat(), 0));
+            }
+            scene.addEntity(entity);
+        }
+        return scene;
+    }
+}
@@ -0,0 +1,121 @@
+import com.sun.management.ThreadMXBean;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import xyz.jeremynoesen.pseudo3d.core.Scene;
+import xyz.jeremynoesen.pseudo3d.core.graphics.Camera;
+import xyz.jeremynoesen.pseudo3d.core.graphics.Sprite;
+import xyz.jeremynoesen.pseudo3d.core.object.Entity;
+import xyz.jeremynoesen.pseudo3d.core.util.MutableVector;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Benchmark of the bytes allocated by rendering a Scene and by chained Vector and MutableVector operations, counted
+ * with ThreadMXBean
+ *
+ * @author Jeremy Noesen
+ */
+public class AllocationBenchmark {
+
+    /**
+     * Number of Entities rendered
+     */
+    private static final int ENTITIES = 3000;
+
+    /**
+     * Number of frames rendered while warming up and again while measuring
+     */
+    private static final int FRAMES = 2000;
+
+    /**
+     * Number of chained operations run while warming up and again while measuring
+     */
+    private static final int OPERATIONS = 1000000;
+
+    /**
+     * Sum of the results of the operations, kept so they are not optimized away
+     */
+    private static float sum;
+
+    /**
+     * Start JavaFX and run the benchmark on its thread, since Sprites and Canvases need it
+     *
+     * @param args Program arguments
+     */
+    public static void main(String[] args) {
+        Platform.startup(() -> {
+            run();
+            Platform.exit();
+        });
+    }
+
+    /**
+     * Measure rendering and the Vector operations, printing the bytes allocated for each
+     */
+    private static void run() {
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        Scene scene = createScene();
+        Canvas canvas = new Canvas(1280, 720);
+        GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        for (int i = 0; i < FRAMES; i++) render(scene, graphicsContext);
+        long start = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < FRAMES; i++) render(scene, graphicsContext);
+        long bytes = bean.getThreadAllocatedBytes(thread) - start;
+        System.out.printf("%d entities: %.1f bytes per frame%n", ENTITIES, bytes / (double) FRAMES);
+        //Render the Scene, skipping the first frames as warmup
+
+        Vector a = new Vector(1, 2, 3), b = new Vector(4, 5, 6);
+        for (int round = 0; round <= 1; round++) {
+            start = bean.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < OPERATIONS; i++) sum += a.add(b).multiply(0.5f).subtract(a).getX();
+            bytes = bean.getThreadAllocatedBytes(thread) - start;
+        }
+        System.out.printf("Vector: %.1f bytes per operation%n", bytes / (double) OPERATIONS);
+        //Chain operations on immutable Vectors, skipping the first round as warmup
+
+        MutableVector c = new MutableVector();
+        for (int round = 0; round <= 1; round++) {
+            start = bean.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < OPERATIONS; i++) sum += c.set(a).add(b).multiply(0.5f).subtract(a).getX();
+            bytes = bean.getThreadAllocatedBytes(thread) - start;
+        }
+        System.out.printf("MutableVector: %.1f bytes per operation%n", bytes / (double) OPERATIONS);
+        //Chain the same operations on a MutableVector
+    }
+
+    /**
+     * Render a frame, clearing the Canvas first so its buffer of drawing commands does not keep growing while there is
+     * no window to draw it to
+     *
+     * @param scene           Scene to render
+     * @param graphicsContext GraphicsContext to draw to
+     */
+    private static void render(Scene scene, GraphicsContext graphicsContext) {
+        graphicsContext.clearRect(0, 0, graphicsContext.getCanvas().getWidth(),
+                graphicsContext.getCanvas().getHeight());
+        scene.render(graphicsContext, 1 / 60f, 0.5f);
+    }
+
+    /**
+     * Create a Scene of a grid of Entities in front of the Camera
+     *
+     * @return Scene to render
+     */
+    private static Scene createScene() {
+        Sprite sprite = new Sprite(1, 1, Color.RED);
+        Scene scene = new Scene().setCamera(new Camera().setPosition(new Vector(0, 10, 20)));
+        int side = (int) Math.sqrt(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            scene.addEntity((Entity) new Entity()
+                    .setSprite(sprite)
+                    .setDimensions(new Vector(1, 1, 1))
+                    .setPosition(new Vector((i % side) - side / 2f, 0, -(i / side))));
+        }
+        return scene;
+    }
+}
@@ -0,0 +1,104 @@
+package xyz.jeremynoesen.pseudo3d.core;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import xyz.jeremynoesen.pseudo3d.core.object.AABBTree;
+import xyz.jeremynoesen.pseudo3d.core.object.BroadPhase;
+import xyz.jeremynoesen.pseudo3d.core.object.BruteForce;
+import xyz.jeremynoesen.pseudo3d.core.object.SpatialHash;
+import xyz.jeremynoesen.pseudo3d.core.object.SweepAndPrune;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that ticking a Scene allocates nothing once the JIT compiler has warmed up
+ *
+ * @author Jeremy Noesen
+ */
+class AllocationTest {
+
+    /**
+     * Number of Entities in each Scene
+     */
+    private static final int ENTITIES = 200;
+
+    /**
+     * Number of ticks run before measuring, so the hot paths are compiled
+     */
+    private static final int WARMUP_TICKS = 15000;
+
+    /**
+     * Number of ticks measured at once
+     */
+    private static final int MEASURED_TICKS = 1000;
+
+    /**
+     * Number of times the measurement is repeated before failing, in case the JIT compiler was still busy
+     */
+    private static final int ATTEMPTS = 3;
+
+    /**
+     * Check ticking with a SpatialHash
+     */
+    @Test
+    void spatialHash() {
+        assertEquals(0, measure(new SpatialHash(), 0), "Bytes allocated with SpatialHash");
+    }
+
+    /**
+     * Check ticking with an AABBTree
+     */
+    @Test
+    void aabbTree() {
+        assertEquals(0, measure(new AABBTree(), 0), "Bytes allocated with AABBTree");
+    }
+
+    /**
+     * Check ticking with SweepAndPrune
+     */
+    @Test
+    void sweepAndPrune() {
+        assertEquals(0, measure(new SweepAndPrune(), 0), "Bytes allocated with SweepAndPrune");
+    }
+
+    /**
+     * Check ticking with BruteForce
+     */
+    @Test
+    void bruteForce() {
+        assertEquals(0, measure(new BruteForce(), 0), "Bytes allocated with BruteForce");
+    }
+
+    /**
+     * Check ticking with sleeping islands
+     */
+    @Test
+    void sleeping() {
+        assertEquals(0, measure(new SpatialHash(), 60), "Bytes allocated with sleeping enabled");
+    }
+
+    /**
+     * Warm up a Scene, then count the bytes the current thread allocates while ticking it
+     *
+     * @param broadPhase BroadPhase of the Scene
+     * @param sleep      Number of ticks before resting islands fall asleep, or 0 to disable sleeping
+     * @return Fewest bytes allocated in any of the measurements
+     */
+    private static long measure(BroadPhase broadPhase, int sleep) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        Scene scene = TestScenes.create(ENTITIES, broadPhase, 7);
+        scene.getIslands().setTicks(sleep);
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) scene.tick(1 / 120f);
+
+        long fewest = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < ATTEMPTS && fewest > 0; attempt++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int tick = 0; tick < MEASURED_TICKS; tick++) scene.tick(1 / 120f);
+            fewest = Math.min(fewest, threads.getThreadAllocatedBytes(thread) - before);
+        }
+        return fewest;
+    }
+}
@@ -0,0 +1,108 @@
+package xyz.jeremynoesen.pseudo3d.core;
+
+import org.junit.jupiter.api.Test;
+import xyz.jeremynoesen.pseudo3d.core.object.CollisionListener;
+import xyz.jeremynoesen.pseudo3d.core.object.Entity;
+import xyz.jeremynoesen.pseudo3d.core.object.Physics;
+import xyz.jeremynoesen.pseudo3d.core.util.Side;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that CollisionListeners are told when a contact switches between colliding and only overlapping
+ *
+ * @author Jeremy Noesen
+ */
+class CollisionListenerTest {
+
+    /**
+     * Time elapsed in each tick
+     */
+    private static final float DELTA_TIME = 1 / 120f;
+
+    /**
+     * Check the events of an Entity jumping up through a one-way platform and landing on it
+     */
+    @Test
+    void overlapBecomesCollision() {
+        Entity platform = createPlatform();
+        Entity entity = new Entity();
+        entity.setVelocity(new Vector(0, 6, 0))
+                .setDimensions(new Vector(1, 1, 1))
+                .setPosition(new Vector(0, -1.5f, 0));
+        ArrayList<String> events = listen(entity);
+        Scene scene = new Scene().addEntity(platform, entity);
+        for (int i = 0; i < 240; i++) scene.tick(DELTA_TIME);
+
+        assertEquals(List.of("overlap enter", "overlap exit", "collision enter BOTTOM"), events);
+    }
+
+    /**
+     * Check the events of an Entity resting on a platform that stops being collidable
+     */
+    @Test
+    void collisionBecomesOverlap() {
+        Entity platform = createPlatform();
+        Entity entity = new Entity();
+        entity.setDimensions(new Vector(1, 1, 1))
+                .setPosition(new Vector(0, 1, 0));
+        ArrayList<String> events = listen(entity);
+        Scene scene = new Scene().addEntity(platform, entity);
+        for (int i = 0; i < 60; i++) scene.tick(DELTA_TIME);
+        platform.setCollideable();
+        for (int i = 0; i < 120; i++) scene.tick(DELTA_TIME);
+
+        assertEquals(List.of("collision enter BOTTOM", "collision exit BOTTOM", "overlap enter", "overlap exit"),
+                events);
+    }
+
+    /**
+     * Create a static platform that can only be collided with from above
+     *
+     * @return New platform
+     */
+    private static Entity createPlatform() {
+        Entity platform = new Entity();
+        platform.setKinematic()
+                .setCollideable(Side.TOP)
+                .setDimensions(new Vector(4, 0.5f, 4))
+                .setPosition(new Vector(0, 0, 0));
+        return platform;
+    }
+
+    /**
+     * Record the enter and exit events of an Entity
+     *
+     * @param entity Entity to listen to
+     * @return List the events are added to as they are dispatched
+     */
+    private static ArrayList<String> listen(Entity entity) {
+        ArrayList<String> events = new ArrayList<>();
+        entity.addCollisionListener(new CollisionListener() {
+            @Override
+            public void onCollisionEnter(Physics other, Side side) {
+                events.add("collision enter " + side);
+            }
+
+            @Override
+            public void onCollisionExit(Physics other, Side side) {
+                events.add("collision exit " + side);
+            }
+
+            @Override
+            public void onOverlapEnter(Physics other) {
+                events.add("overlap enter");
+            }
+
+            @Override
+            public void onOverlapExit(Physics other) {
+                events.add("overlap exit");
+            }
+        });
+        return events;
+    }
+}
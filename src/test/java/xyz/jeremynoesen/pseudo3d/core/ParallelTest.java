@@ -0,0 +1,105 @@
+package xyz.jeremynoesen.pseudo3d.core;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import xyz.jeremynoesen.pseudo3d.core.object.Entity;
+import xyz.jeremynoesen.pseudo3d.core.object.SpatialHash;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests that updating a Scene in parallel gives exactly the same results as updating it serially
+ *
+ * @author Jeremy Noesen
+ */
+class ParallelTest {
+
+    /**
+     * Number of Entities in each Scene
+     */
+    private static final int ENTITIES = 400;
+
+    /**
+     * Number of ticks each Scene is run for
+     */
+    private static final int TICKS = 10000;
+
+    /**
+     * Pool the parallel Scenes are updated on
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Create the pool
+     */
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Shut the pool down
+     */
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Check serial and parallel results with sleeping disabled
+     */
+    @Test
+    void sameResultsAwake() {
+        assertArrayEquals(run(null, 0), run(pool, 0));
+    }
+
+    /**
+     * Check serial and parallel results with sleeping enabled
+     */
+    @Test
+    void sameResultsSleeping() {
+        assertArrayEquals(run(null, 60), run(pool, 60));
+    }
+
+    /**
+     * Tick a Scene, pushing some of its moving Entities around every few hundred ticks so islands keep waking
+     *
+     * @param pool  Pool to update the Scene on, or null to update it serially
+     * @param sleep Number of ticks before resting islands fall asleep, or 0 to disable sleeping
+     * @return Bits of the position and velocity of every Entity
+     */
+    private static int[] run(ForkJoinPool pool, int sleep) {
+        Scene scene = TestScenes.create(ENTITIES, new SpatialHash(), 7).setParallel(pool);
+        scene.getIslands().setTicks(sleep);
+        scene.getMotion().setThreshold(16);
+        scene.getCollisions().setThreshold(16);
+        Random random = new Random(3);
+        for (int tick = 0; tick < TICKS; tick++) {
+            if (tick % 500 == 0) {
+                for (Entity entity : scene.getEntities()) {
+                    if (entity.isKinematic() && random.nextInt(4) == 0)
+                        entity.setVelocity(new Vector((random.nextFloat() * 8) - 4, random.nextFloat() * 6, 0));
+                }
+            }
+            scene.tick(1 / 120f);
+        }
+
+        int[] state = new int[scene.getEntities().size() * 6];
+        int i = 0;
+        for (Entity entity : scene.getEntities()) {
+            Vector position = entity.getPosition(), velocity = entity.getVelocity();
+            state[i++] = Float.floatToRawIntBits(position.getX());
+            state[i++] = Float.floatToRawIntBits(position.getY());
+            state[i++] = Float.floatToRawIntBits(position.getZ());
+            state[i++] = Float.floatToRawIntBits(velocity.getX());
+            state[i++] = Float.floatToRawIntBits(velocity.getY());
+            state[i++] = Float.floatToRawIntBits(velocity.getZ());
+        }
+        return state;
+    }
+}
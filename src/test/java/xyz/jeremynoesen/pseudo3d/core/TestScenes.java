@@ -0,0 +1,48 @@
+package xyz.jeremynoesen.pseudo3d.core;
+
+import xyz.jeremynoesen.pseudo3d.core.object.BroadPhase;
+import xyz.jeremynoesen.pseudo3d.core.object.Entity;
+import xyz.jeremynoesen.pseudo3d.core.util.Vector;
+
+import java.util.Random;
+
+/**
+ * Scenes shared by the tests
+ *
+ * @author Jeremy Noesen
+ */
+final class TestScenes {
+
+    /**
+     * Create a Scene of rows of small static Entities with moving Entities falling onto them, and one huge static floor
+     * below everything
+     *
+     * @param count      Number of Entities
+     * @param broadPhase BroadPhase of the Scene
+     * @param seed       Seed of the positions and velocities of the moving Entities
+     * @return New Scene
+     */
+    static Scene create(int count, BroadPhase broadPhase, long seed) {
+        Random random = new Random(seed);
+        Scene scene = new Scene().setBroadPhase(broadPhase);
+        int side = (int) Math.sqrt(count);
+        for (int i = 0; i < count; i++) {
+            Entity entity = new Entity().setUpdateOffScreen(true);
+            if (i == 0) {
+                entity.setKinematic()
+                        .setDimensions(new Vector(side * 2, 0.5f, 4))
+                        .setPosition(new Vector(side / 2f, -6, 0));
+            } else if (i % 10 != 0) {
+                entity.setKinematic()
+                        .setDimensions(new Vector(1, 1, 1))
+                        .setPosition(new Vector(i % side, ((i / side) * 3) - 4.75f, 0));
+            } else {
+                entity.setVelocity(new Vector((random.nextFloat() * 4) - 2, 0, 0))
+                        .setDimensions(new Vector(0.8f, 2, 0.8f))
+                        .setPosition(new Vector(random.nextFloat() * side, ((i / side) * 3) + random.nextFloat(), 0));
+            }
+            scene.addEntity(entity);
+        }
+        return scene;
+    }
+}